@@ -0,0 +1,101 @@
+#!/usr/bin/env bash
+# Startup and time-to-first-request for each launch mode of the backend.
+#
+#   mvn -B package -Pfast-startup -DskipTests
+#   scripts/startup-benchmark.sh [runs]          # default 5 runs per mode
+#
+# Modes: jar (plain fat jar), aot (unpacked classpath + Spring AOT),
+# aot-cds (same + class-data-sharing archive from a training run) and
+# native (only if target/student-management was built with -Pnative native:compile).
+# Needs the database from docker-compose (or SPRING_DATASOURCE_* pointing elsewhere).
+# "first request" is launch -> first response to POST /api/auth/login, which goes
+# through security, the DispatcherServlet and a user lookup (expected status 401).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=${SERVER_PORT:-8080}
+MAIN=com.studentmgmt.StudentManagementApplication
+TARGET=target
+CDS=$TARGET/cds
+JAR=$(ls $TARGET/student-management-*.jar 2>/dev/null | head -n 1 || true)
+URL="http://localhost:$PORT/api/auth/login"
+
+if [[ -z "$JAR" || ! -f "$JAR.original" || ! -d "$CDS/lib" ]]; then
+  echo "Build first: mvn -B package -Pfast-startup -DskipTests" >&2
+  exit 1
+fi
+
+# The CDS archive is only valid for the exact classpath it was trained with,
+# so the unpacked classpath is listed in a fixed order.
+cp -p "$JAR.original" "$CDS/application.jar"
+CLASSPATH="$CDS/application.jar:$(ls "$CDS"/lib/*.jar | sort | paste -sd: -)"
+
+if [[ ! -f "$CDS/app.jsa" || "$CDS/application.jar" -nt "$CDS/app.jsa" ]]; then
+  echo "Training run for $CDS/app.jsa"
+  # spring.context.exit=onRefresh stops after the context refresh: every bean class
+  # is loaded, but no request is served and no scheduled job runs.
+  java -XX:ArchiveClassesAtExit="$CDS/app.jsa" -Dspring.context.exit=onRefresh \
+       -Dspring.aot.enabled=true -cp "$CLASSPATH" "$MAIN" > "$CDS/training.log" 2>&1
+fi
+
+now_ms() { date +%s%3N; }
+
+# Launches one instance, waits for the first response and prints
+# "<started-in ms> <first-request ms>".
+measure() {
+  local log
+  log=$(mktemp)
+  local start
+  start=$(now_ms)
+  "$@" --server.port="$PORT" > "$log" 2>&1 &
+  local pid=$!
+  local first=""
+  for _ in $(seq 1 1200); do
+    if curl -s -o /dev/null -X POST -H 'Content-Type: application/json' \
+         -d '{"email":"startup@benchmark.invalid","password":"x"}' "$URL"; then
+      first=$(( $(now_ms) - start ))
+      break
+    fi
+    if ! kill -0 "$pid" 2>/dev/null; then
+      break
+    fi
+    sleep 0.05
+  done
+  kill "$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+  if [[ -z "$first" ]]; then
+    echo "launch failed, see $log" >&2
+    exit 1
+  fi
+  # "Started StudentManagementApplication in 4.321 seconds (process running for 4.9)"
+  local started
+  started=$(grep -o 'Started [A-Za-z]* in [0-9.]* seconds' "$log" | awk '{ printf "%d", $4 * 1000 }')
+  rm -f "$log"
+  echo "${started:-0} $first"
+}
+
+median() { sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'; }
+
+report() {
+  local mode=$1
+  shift
+  local started=() first=()
+  for _ in $(seq 1 "$RUNS"); do
+    read -r s f < <(measure "$@")
+    started+=("$s")
+    first+=("$f")
+  done
+  printf '%-10s %14s %18s\n' "$mode" \
+    "$(printf '%s\n' "${started[@]}" | median)" "$(printf '%s\n' "${first[@]}" | median)"
+}
+
+echo "median of $RUNS runs (ms)"
+printf '%-10s %14s %18s\n' mode started-in first-request
+report jar      java -jar "$JAR"
+report aot      java -Dspring.aot.enabled=true -cp "$CLASSPATH" "$MAIN"
+report aot-cds  java -XX:SharedArchiveFile="$CDS/app.jsa" -Dspring.aot.enabled=true -cp "$CLASSPATH" "$MAIN"
+if [[ -x $TARGET/student-management ]]; then
+  report native $TARGET/student-management
+fi
@@ -0,0 +1,108 @@
+package com.studentmgmt.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmgmt.entity.AuditEntry;
+import com.studentmgmt.event.ChangeType;
+import com.studentmgmt.event.EntityChangedEvent;
+import com.studentmgmt.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Turns committed {@link EntityChangedEvent}s into audit entries: one per
+ * affected id, attributed to the authenticated user and carrying the fields
+ * that changed. Runs on the request thread after commit, so the
+ * {@link SecurityContextHolder} and tenant are still populated; the insert itself is left
+ * to {@link AuditWriter}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditTrail {
+
+    private static final String SYSTEM_ACTOR = "system";
+    private static final Set<String> IGNORED_FIELDS = Set.of("id", "version");
+    private static final TypeReference<Map<String, Object>> FIELDS = new TypeReference<>() {};
+
+    private final AuditWriter writer;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(EntityChangedEvent event) {
+        String actor = currentActor();
+        String tenant = TenantContext.get();
+        String changes = changes(event);
+        LocalDateTime now = LocalDateTime.now();
+        for (Long id : event.ids()) {
+            writer.enqueue(AuditEntry.builder()
+                    .entityType(event.entity())
+                    .entityId(id)
+                    .action(event.type())
+                    .actor(actor)
+                    .changes(changes)
+                    .occurredAt(now)
+                    .tenant(tenant)
+                    .build());
+        }
+    }
+
+    private String currentActor() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.isAuthenticated() ? auth.getName() : SYSTEM_ACTOR;
+    }
+
+    /** Field-level diff between before and after; bulk toggles only record the active flag. */
+    private String changes(EntityChangedEvent event) {
+        Map<String, Object> diff = new LinkedHashMap<>();
+        if (event.type() == ChangeType.ACTIVATED || event.type() == ChangeType.DEACTIVATED) {
+            boolean active = event.type() == ChangeType.ACTIVATED;
+            diff.put("active", change(!active, active));
+        } else {
+            Map<String, Object> before = fields(event.before());
+            Map<String, Object> after = fields(event.data());
+            Set<String> names = new LinkedHashSet<>(before.keySet());
+            names.addAll(after.keySet());
+            for (String name : names) {
+                if (IGNORED_FIELDS.contains(name)) continue;
+                Object from = before.get(name);
+                Object to = after.get(name);
+                if (!Objects.equals(from, to)) {
+                    diff.put(name, change(from, to));
+                }
+            }
+        }
+        if (diff.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(diff);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialise audit diff for {} {}", event.entity(), event.ids(), e);
+            return null;
+        }
+    }
+
+    private Map<String, Object> fields(Object dto) {
+        return dto == null ? Map.of() : objectMapper.convertValue(dto, FIELDS);
+    }
+
+    private static Map<String, Object> change(Object from, Object to) {
+        Map<String, Object> change = new LinkedHashMap<>();
+        change.put("from", from);
+        change.put("to", to);
+        return change;
+    }
+}
@@ -0,0 +1,169 @@
+package com.studentmgmt.audit;
+
+import com.studentmgmt.entity.AuditEntry;
+import com.studentmgmt.tenant.TenantRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Buffers audit entries in a bounded queue and inserts them in JDBC batches
+ * from a single background thread, so auditing adds no database round trip to
+ * the request. When the queue is full the {@link OverflowPolicy} decides
+ * whether the caller waits (up to {@code audit.block-timeout}) or the entry is
+ * dropped; dropped entries are counted in {@code audit.entries.dropped}.
+ */
+@Component
+@Slf4j
+public class AuditWriter {
+
+    public enum OverflowPolicy { BLOCK, DROP }
+
+    static final String INSERT_SQL = "INSERT INTO audit_log (entity_type, entity_id, action, actor, changes, occurred_at) " +
+                                     "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<AuditEntry> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration blockTimeout;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Thread worker = new Thread(this::run, "audit-writer");
+    private volatile boolean running;
+
+    public AuditWriter(JdbcTemplate jdbcTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${audit.queue-capacity:10000}") int queueCapacity,
+                       @Value("${audit.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+                       @Value("${audit.block-timeout:500ms}") Duration blockTimeout,
+                       @Value("${audit.batch-size:200}") int batchSize,
+                       @Value("${audit.flush-interval:1s}") Duration flushInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeout = blockTimeout;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.dropped = meterRegistry.counter("audit.entries.dropped");
+        this.failed = meterRegistry.counter("audit.entries.failed");
+        Gauge.builder("audit.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker.start();
+    }
+
+    /** Queues an entry; returns false if it was dropped because the queue stayed full. */
+    public boolean enqueue(AuditEntry entry) {
+        boolean accepted;
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                accepted = queue.offer(entry, blockTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } else {
+            accepted = queue.offer(entry);
+        }
+        if (!accepted) {
+            dropped.increment();
+            log.warn("Audit queue full, dropped {} {} {}", entry.getAction(), entry.getEntityType(), entry.getEntityId());
+        }
+        return accepted;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                AuditEntry first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    List<AuditEntry> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+
+    /** Writes everything currently queued, in batches. */
+    int flush() {
+        int written = 0;
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            written += write(batch);
+            batch.clear();
+        }
+        return written;
+    }
+
+    private int write(List<AuditEntry> batch) {
+        // Entries go to their tenant's audit_log; a batch rarely spans more than one tenant
+        Map<String, List<AuditEntry>> byTenant = batch.stream()
+                .collect(Collectors.groupingBy(entry -> TenantRegistry.schema(entry.getTenant()),
+                        LinkedHashMap::new, Collectors.toList()));
+        int written = 0;
+        for (Map.Entry<String, List<AuditEntry>> group : byTenant.entrySet()) {
+            written += write(insertSql(group.getKey()), group.getValue());
+        }
+        return written;
+    }
+
+    static String insertSql(String schema) {
+        return TenantRegistry.DEFAULT_SCHEMA.equals(schema) ? INSERT_SQL : INSERT_SQL.replace("audit_log", schema + ".audit_log");
+    }
+
+    private int write(String sql, List<AuditEntry> batch) {
+        try {
+            jdbcTemplate.batchUpdate(sql, batch, batch.size(), (ps, entry) -> {
+                ps.setString(1, entry.getEntityType().name());
+                ps.setLong(2, entry.getEntityId());
+                ps.setString(3, entry.getAction().name());
+                ps.setString(4, entry.getActor());
+                ps.setString(5, entry.getChanges());
+                ps.setTimestamp(6, Timestamp.valueOf(entry.getOccurredAt()));
+            });
+            return batch.size();
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            log.error("Failed to write {} audit entries", batch.size(), e);
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(flushInterval.toMillis() * 2);
+        int remaining = flush();
+        if (remaining > 0) {
+            log.info("Flushed {} audit entries on shutdown", remaining);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.studentmgmt.cache;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when this replica may have missed invalidations from others
+ * (sequence gap or listener reconnect). The local caches are already
+ * flushed; listeners reload any other replicated state from the database.
+ */
+public class ClusterResyncEvent extends ApplicationEvent {
+
+    public ClusterResyncEvent(Object source) {
+        super(source);
+    }
+}
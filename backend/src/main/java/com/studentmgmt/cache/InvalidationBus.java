@@ -0,0 +1,277 @@
+package com.studentmgmt.cache;
+
+import com.studentmgmt.config.TokenRevocationList;
+import com.studentmgmt.event.ChangeType;
+import com.studentmgmt.event.EntityChangedEvent;
+import com.studentmgmt.event.EntityType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the {@link LocalCaches} of all replicas consistent. A change is applied
+ * to the local caches after commit and sent to the other replicas with
+ * Postgres {@code NOTIFY}. A single sender thread numbers the messages, and a
+ * listener thread on its own connection (outside the pool) applies the
+ * messages from other replicas. Revoked access tokens travel the same way, so
+ * a logout on one replica is enforced on all of them.
+ *
+ * <p>When a sequence gap shows that messages were lost, or the listener
+ * connection drops, the caches are flushed and a {@link ClusterResyncEvent}
+ * is published. While the listener is disconnected caching is off entirely.
+ * With {@code cache.invalidation.enabled=false} (a single instance) only
+ * the local caches are invalidated.
+ */
+@Component
+@Slf4j
+public class InvalidationBus {
+
+    static final String REVOKED = "revoked";
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final LocalCaches caches;
+    private final TokenRevocationList revocationList;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ApplicationEventPublisher events;
+    private final boolean enabled;
+    private final String channel;
+    private final Duration reconnectDelay;
+    private final String node = UUID.randomUUID().toString().substring(0, 8);
+    private final SequenceTracker sequences = new SequenceTracker();
+    private final BlockingQueue<InvalidationMessage> outbox = new LinkedBlockingQueue<>();
+    private final Counter sent;
+    private final Counter received;
+    private final Counter gaps;
+    private final Timer lag;
+    private final Thread sender = new Thread(this::send, "invalidation-sender");
+    private final Thread listener = new Thread(this::listen, "invalidation-listener");
+    private volatile boolean running;
+    private long seq;
+
+    public InvalidationBus(LocalCaches caches,
+                           TokenRevocationList revocationList,
+                           JdbcTemplate jdbcTemplate,
+                           DataSourceProperties dataSourceProperties,
+                           ApplicationEventPublisher events,
+                           MeterRegistry meterRegistry,
+                           @Value("${cache.invalidation.enabled:false}") boolean enabled,
+                           @Value("${cache.invalidation.channel:cache_invalidation}") String channel,
+                           @Value("${cache.invalidation.reconnect-delay:1s}") Duration reconnectDelay) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalStateException("Invalid cache.invalidation.channel: " + channel);
+        }
+        this.caches = caches;
+        this.revocationList = revocationList;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.events = events;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.reconnectDelay = reconnectDelay;
+        this.sent = meterRegistry.counter("cache.invalidation.sent");
+        this.received = meterRegistry.counter("cache.invalidation.received");
+        this.gaps = meterRegistry.counter("cache.invalidation.gaps");
+        this.lag = Timer.builder("cache.invalidation.lag")
+                .description("Time from sending an invalidation to applying it on another replica (clock skew included)")
+                .register(meterRegistry);
+        sender.setDaemon(true);
+        listener.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        // Nothing may be cached until the listener is connected
+        caches.setActive(false);
+        running = true;
+        sender.start();
+        listener.start();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(EntityChangedEvent event) {
+        if (event.type() == ChangeType.CREATED) {
+            return;
+        }
+        // Already after commit here
+        String cache = event.entity() == EntityType.STUDENT ? LocalCaches.STUDENTS : LocalCaches.STAFF;
+        publish(cache, event.ids().stream().map(LocalCaches::tenantKey).toList());
+    }
+
+    /**
+     * Drops {@code keys} from the named cache on every replica. Inside a
+     * transaction this happens after commit, so no replica can reload the old
+     * row in between.
+     */
+    public void invalidate(String cache, Collection<String> keys) {
+        List<String> copy = List.copyOf(keys);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(cache, copy);
+                }
+            });
+        } else {
+            publish(cache, copy);
+        }
+    }
+
+    /** Tells the other replicas about an access token revoked here. */
+    public void revoked(String jti, long expiresAtMillis) {
+        if (enabled) {
+            outbox.add(new InvalidationMessage(node, 0, 0, REVOKED,
+                    List.of(TokenRevocationList.hash(jti) + ":" + expiresAtMillis)));
+        }
+    }
+
+    private void publish(String cache, List<String> keys) {
+        LocalCache<?> local = caches.named(cache);
+        if (local != null) {
+            local.invalidate(keys);
+        }
+        if (enabled) {
+            outbox.add(new InvalidationMessage(node, 0, 0, cache, keys));
+        }
+    }
+
+    private void send() {
+        while (running) {
+            InvalidationMessage message;
+            try {
+                message = outbox.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (message == null) continue;
+            // Numbered even if the NOTIFY fails: the receivers then see a gap and flush
+            InvalidationMessage numbered = new InvalidationMessage(node, ++seq, System.currentTimeMillis(),
+                    message.cache(), message.keys());
+            try {
+                jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, numbered.encode());
+                sent.increment();
+            } catch (RuntimeException e) {
+                log.warn("Could not send cache invalidation {} #{}: {}", numbered.cache(), numbered.seq(), e.getMessage());
+            }
+        }
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                // Anything sent while we were not listening is lost
+                sequences.reset();
+                caches.setActive(true);
+                if (connectedBefore) {
+                    events.publishEvent(new ClusterResyncEvent(this));
+                }
+                connectedBefore = true;
+                log.info("Listening for cache invalidations on {} as node {}", channel, node);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(500);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                caches.setActive(false);
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, caching off until it reconnects: {}", e.getMessage());
+                    try {
+                        Thread.sleep(reconnectDelay.toMillis());
+                    } catch (InterruptedException ie) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    void receive(String payload) {
+        InvalidationMessage message = InvalidationMessage.decode(payload);
+        if (message == null || message.node().equals(node)) {
+            return;
+        }
+        received.increment();
+        lag.record(Math.max(0, System.currentTimeMillis() - message.sentAt()), TimeUnit.MILLISECONDS);
+        if (sequences.isGap(message.node(), message.seq())) {
+            gaps.increment();
+            log.warn("Missed cache invalidations from node {} (now at #{}), flushing local caches",
+                    message.node(), message.seq());
+            caches.clearAll();
+            events.publishEvent(new ClusterResyncEvent(this));
+        }
+        apply(message);
+    }
+
+    private void apply(InvalidationMessage message) {
+        if (REVOKED.equals(message.cache())) {
+            for (String key : message.keys()) {
+                int colon = key.indexOf(':');
+                if (colon > 0) {
+                    revocationList.revokeHash(Long.parseLong(key.substring(0, colon)),
+                            Long.parseLong(key.substring(colon + 1)));
+                }
+            }
+            return;
+        }
+        LocalCache<?> cache = caches.named(message.cache());
+        if (cache == null) {
+            return;
+        }
+        if (message.isAll()) {
+            cache.clear();
+        } else {
+            cache.invalidate(message.keys());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        sender.interrupt();
+        sender.join(1000);
+        listener.join(1000);
+    }
+}
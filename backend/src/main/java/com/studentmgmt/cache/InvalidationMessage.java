@@ -0,0 +1,46 @@
+package com.studentmgmt.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One NOTIFY payload: a header line {@code node seq sentAtMillis cache}
+ * followed by one key per line. A single {@code *} key stands for every entry
+ * of the cache; it is also used when the keys would not fit in a payload.
+ */
+record InvalidationMessage(String node, long seq, long sentAt, String cache, List<String> keys) {
+
+    static final String ALL = "*";
+
+    /** Postgres rejects NOTIFY payloads of 8000 bytes or more. */
+    static final int MAX_PAYLOAD_BYTES = 7900;
+
+    boolean isAll() {
+        return keys.size() == 1 && ALL.equals(keys.get(0));
+    }
+
+    String encode() {
+        String header = node + " " + seq + " " + sentAt + " " + cache;
+        String payload = header + "\n" + String.join("\n", keys);
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            return header + "\n" + ALL;
+        }
+        return payload;
+    }
+
+    /** Parses a payload, or returns null if it is not one of ours. */
+    static InvalidationMessage decode(String payload) {
+        String[] lines = payload.split("\n");
+        String[] header = lines[0].split(" ");
+        if (header.length != 4 || lines.length < 2) {
+            return null;
+        }
+        try {
+            return new InvalidationMessage(header[0], Long.parseLong(header[1]), Long.parseLong(header[2]), header[3],
+                    List.copyOf(Arrays.asList(lines).subList(1, lines.length)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
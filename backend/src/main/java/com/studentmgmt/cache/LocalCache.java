@@ -0,0 +1,101 @@
+package com.studentmgmt.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, least-recently-used read-through cache for one kind of record.
+ * Every invalidation bumps a generation counter, and a value loaded while an
+ * invalidation happened is returned but not stored, so a slow read can never
+ * put back data that a concurrent write just replaced. Entries also expire
+ * after a fixed time, which bounds staleness from writes that bypass the
+ * application (manual SQL).
+ */
+public class LocalCache<V> {
+
+    private final String name;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry<V>> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long generation;
+    private volatile boolean active = true;
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    public LocalCache(String name, int maxEntries, Duration ttl) {
+        this.name = name;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /** Cached value for {@code key}, or the loader's result (null results are not cached). */
+    public V get(String key, Supplier<V> loader) {
+        if (!active) {
+            return loader.get();
+        }
+        long loadedAt;
+        synchronized (this) {
+            Entry<V> cached = entries.get(key);
+            if (cached != null && cached.expiresAt() - System.nanoTime() > 0) {
+                hits.incrementAndGet();
+                return cached.value();
+            }
+            loadedAt = generation;
+        }
+        misses.incrementAndGet();
+        V loaded = loader.get();
+        synchronized (this) {
+            if (active && loaded != null && generation == loadedAt) {
+                entries.put(key, new Entry<>(loaded, System.nanoTime() + ttlNanos));
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized void invalidate(Collection<String> keys) {
+        generation++;
+        keys.forEach(entries::remove);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    /** An inactive cache is empty and passes every read through to the loader. */
+    synchronized void setActive(boolean active) {
+        this.active = active;
+        clear();
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    long hits() {
+        return hits.get();
+    }
+
+    long misses() {
+        return misses.get();
+    }
+}
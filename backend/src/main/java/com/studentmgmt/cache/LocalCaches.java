@@ -0,0 +1,89 @@
+package com.studentmgmt.cache;
+
+import com.studentmgmt.dto.StaffDto;
+import com.studentmgmt.dto.StudentDto;
+import com.studentmgmt.entity.User;
+import com.studentmgmt.tenant.TenantContext;
+import com.studentmgmt.tenant.TenantRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The in-process caches: single students and staff by tenant and id, and
+ * users by email. They are kept consistent across replicas by
+ * {@link InvalidationBus}; with {@code cache.enabled=false} every read goes to
+ * the database.
+ */
+@Component
+public class LocalCaches {
+
+    public static final String STUDENTS = "students";
+    public static final String STAFF = "staff";
+    public static final String USERS = "users";
+
+    private final boolean enabled;
+    private final LocalCache<StudentDto> students;
+    private final LocalCache<StaffDto> staff;
+    private final LocalCache<User> users;
+    private final Map<String, LocalCache<?>> byName;
+
+    public LocalCaches(MeterRegistry meterRegistry,
+                       @Value("${cache.enabled:true}") boolean enabled,
+                       @Value("${cache.max-entries:10000}") int maxEntries,
+                       @Value("${cache.ttl:10m}") Duration ttl) {
+        this.enabled = enabled;
+        this.students = new LocalCache<>(STUDENTS, maxEntries, ttl);
+        this.staff = new LocalCache<>(STAFF, maxEntries, ttl);
+        this.users = new LocalCache<>(USERS, maxEntries, ttl);
+        this.byName = List.<LocalCache<?>>of(students, staff, users).stream()
+                .collect(Collectors.toUnmodifiableMap(LocalCache::name, Function.identity()));
+        for (LocalCache<?> cache : byName.values()) {
+            cache.setActive(enabled);
+            Gauge.builder("cache.local.size", cache, LocalCache::size).tag("cache", cache.name()).register(meterRegistry);
+            FunctionCounter.builder("cache.local.gets", cache, LocalCache::hits)
+                    .tags("cache", cache.name(), "result", "hit").register(meterRegistry);
+            FunctionCounter.builder("cache.local.gets", cache, LocalCache::misses)
+                    .tags("cache", cache.name(), "result", "miss").register(meterRegistry);
+        }
+    }
+
+    public LocalCache<StudentDto> students() {
+        return students;
+    }
+
+    public LocalCache<StaffDto> staff() {
+        return staff;
+    }
+
+    public LocalCache<User> users() {
+        return users;
+    }
+
+    /** The cache called {@code name}, or null if there is none. */
+    public LocalCache<?> named(String name) {
+        return byName.get(name);
+    }
+
+    public void clearAll() {
+        byName.values().forEach(LocalCache::clear);
+    }
+
+    /** Turns caching off (and empties the caches) while invalidations cannot be received. */
+    void setActive(boolean active) {
+        byName.values().forEach(cache -> cache.setActive(enabled && active));
+    }
+
+    /** Key of a tenant-scoped record: the current tenant's schema and the id. */
+    public static String tenantKey(Object id) {
+        return TenantRegistry.schema(TenantContext.get()) + ":" + id;
+    }
+}
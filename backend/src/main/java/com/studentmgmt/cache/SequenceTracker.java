@@ -0,0 +1,25 @@
+package com.studentmgmt.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Last sequence number seen from each sending node. Every node numbers its
+ * messages 1, 2, 3, ..., so a jump means messages were lost (a failed NOTIFY,
+ * or a listener that was not connected) and the local caches can no longer be
+ * trusted.
+ */
+class SequenceTracker {
+
+    private final Map<String, Long> lastSeen = new HashMap<>();
+
+    /** Records {@code seq} from {@code node}; true if messages from that node were missed. */
+    synchronized boolean isGap(String node, long seq) {
+        Long previous = lastSeen.put(node, seq);
+        return previous != null && seq != previous + 1;
+    }
+
+    synchronized void reset() {
+        lastSeen.clear();
+    }
+}
@@ -0,0 +1,48 @@
+package com.studentmgmt.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long each request held database connections in total, as the
+ * {@code http.server.connection.hold} timer tagged with the route. Compare it
+ * with {@code http.server.requests} to see how much of a request actually
+ * needs a pooled connection.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConnectionHoldFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ConnectionHoldTracker.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (ConnectionHoldTracker.checkouts() > 0) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                Timer.builder("http.server.connection.hold")
+                        .description("Total time a request held database connections")
+                        .tag("method", request.getMethod())
+                        .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                        .register(meterRegistry)
+                        .record(ConnectionHoldTracker.heldNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.studentmgmt.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Wraps the application's {@code dataSource} so every connection records how
+ * long it was held, from checkout to close, into a per-thread total that
+ * {@link ConnectionHoldFilter} reports per request. With open-in-view off this
+ * is the sum of the request's transactions rather than the whole request.
+ */
+@Component
+public class ConnectionHoldTracker implements BeanPostProcessor {
+
+    private static final ThreadLocal<long[]> HELD = ThreadLocal.withInitial(() -> new long[2]);
+
+    /** Clears the current thread's totals. */
+    static void reset() {
+        long[] held = HELD.get();
+        held[0] = 0;
+        held[1] = 0;
+    }
+
+    /** Nanoseconds the current thread has held connections since {@link #reset()}. */
+    static long heldNanos() {
+        return HELD.get()[0];
+    }
+
+    /** Connections the current thread checked out since {@link #reset()}. */
+    static long checkouts() {
+        return HELD.get()[1];
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                && !(bean instanceof TrackingDataSource)) {
+            return new TrackingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    static final class TrackingDataSource extends DelegatingDataSource {
+
+        TrackingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return track(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return track(super.getConnection(username, password));
+        }
+
+        private static Connection track(Connection connection) {
+            long start = System.nanoTime();
+            HELD.get()[1]++;
+            boolean[] closed = new boolean[1];
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName()) && !closed[0]) {
+                            closed[0] = true;
+                            HELD.get()[0] += System.nanoTime() - start;
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
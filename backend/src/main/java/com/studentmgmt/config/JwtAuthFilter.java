@@ -1,25 +1,37 @@
 package com.studentmgmt.config;
 
+import com.studentmgmt.tenant.TenantContext;
+import com.studentmgmt.tenant.TenantRegistry;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
+/**
+ * Authenticates requests from the access token alone: signature, expiry and
+ * the in-memory {@link TokenRevocationList}. No database lookup happens here;
+ * an invalid, expired or revoked token leaves the request anonymous.
+ * In multi-tenant mode the token's tenant claim selects the school schema
+ * for the rest of the request; a token for an unknown tenant is ignored.
+ */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
+    private final TenantRegistry tenantRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -33,19 +45,24 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             return;
         }
 
-        String token = authHeader.substring(7);
-        String username = jwtUtil.extractUsername(token);
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.isTokenValid(token, userDetails)) {
-                var authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+        Optional<Claims> claims = jwtUtil.parse(authHeader.substring(7));
+        if (claims.isPresent() && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Claims c = claims.get();
+            String tenant = tenantRegistry.isEnabled() ? JwtUtil.tenant(c) : null;
+            if (c.getSubject() != null && c.getId() != null && !revocationList.isRevoked(c.getId())
+                    && (tenant == null || tenantRegistry.isKnown(tenant))) {
+                var authorities = JwtUtil.roles(c).stream().map(SimpleGrantedAuthority::new).toList();
+                var authToken = new UsernamePasswordAuthenticationToken(c.getSubject(), null, authorities);
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                TenantContext.set(tenant);
             }
         }
 
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
     }
 }
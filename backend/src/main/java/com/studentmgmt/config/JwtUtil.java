@@ -1,58 +1,93 @@
 package com.studentmgmt.config;
 
+import com.studentmgmt.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
+    static final String ROLES_CLAIM = "roles";
+    static final String TENANT_CLAIM = "tenant";
+
     @Value("${jwt.secret}")
     private String secret;
 
+    /** Access token lifetime in ms; kept short because revocation is only held in memory. */
     @Value("${jwt.expiration}")
     private long expiration;
 
+    private SecretKey signingKey;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    }
+
+    /**
+     * Issues an access token carrying everything {@link JwtAuthFilter} needs
+     * (subject, authorities, the user's school and a unique jti), so requests
+     * authenticate without loading the user.
+     */
     public String generateToken(UserDetails userDetails) {
+        return generateToken(userDetails, UUID.randomUUID().toString(), new Date(System.currentTimeMillis() + expiration));
+    }
+
+    public String generateToken(UserDetails userDetails, String jti, Date expiresAt) {
         return Jwts.builder()
+                .id(jti)
                 .subject(userDetails.getUsername())
+                .claim(ROLES_CLAIM, userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                .claim(TENANT_CLAIM, userDetails instanceof User user ? user.getTenant() : null)
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .expiration(expiresAt)
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public long getExpiration() {
+        return expiration;
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    /** Verified claims of a token, or empty if it is malformed, forged or expired. */
+    public Optional<Claims> parse(String token) {
+        try {
+            return Optional.of(Jwts.parser()
+                    .verifyWith(signingKey)
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    public String extractUsername(String token) {
+        return parse(token).map(Claims::getSubject).orElse(null);
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> resolver) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return resolver.apply(claims);
+    @SuppressWarnings("unchecked")
+    public static List<String> roles(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        return roles instanceof List<?> list ? (List<String>) list : List.of();
     }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    /** The user's tenant, or null for users of the shared schema. */
+    public static String tenant(Claims claims) {
+        return claims.get(TENANT_CLAIM, String.class);
     }
 }
@@ -0,0 +1,108 @@
+package com.studentmgmt.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user, per-route-class rate limiting. Runs after {@link JwtAuthFilter} so
+ * authenticated callers are keyed by username; anonymous callers (login,
+ * register) are keyed by client address. Rejected requests get {@code 429}
+ * with a {@code Retry-After} header in seconds.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    enum RouteClass { AUTH, SEARCH, EXPORT, IMPORT, INVITE, DEFAULT }
+
+    private final boolean enabled;
+    private final Map<RouteClass, RateLimiter.Limit> limits = new EnumMap<>(RouteClass.class);
+    private final RateLimiter limiter;
+
+    public RateLimitFilter(Environment env,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.stripes:16}") int stripes,
+                           @Value("${rate-limit.max-entries:100000}") int maxEntries) {
+        this.enabled = enabled;
+        this.limiter = new RateLimiter(stripes, maxEntries, System::nanoTime);
+        limits.put(RouteClass.AUTH, limit(env, "auth", 10, 20));
+        limits.put(RouteClass.SEARCH, limit(env, "search", 20, 60));
+        limits.put(RouteClass.EXPORT, limit(env, "export", 2, 6));
+        limits.put(RouteClass.IMPORT, limit(env, "import", 2, 6));
+        limits.put(RouteClass.INVITE, limit(env, "invite", 1, 3));
+        limits.put(RouteClass.DEFAULT, limit(env, "default", 100, 600));
+    }
+
+    private static RateLimiter.Limit limit(Environment env, String name, int burst, int perMinute) {
+        return new RateLimiter.Limit(
+                env.getProperty("rate-limit." + name + ".burst", Integer.class, burst),
+                env.getProperty("rate-limit." + name + ".per-minute", Integer.class, perMinute));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/") || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RouteClass routeClass = classify(request);
+        String caller = caller(request);
+        RateLimiter.Decision decision = limiter.tryAcquire(
+                caller + "|" + routeClass, "*|" + routeClass, limits.get(routeClass));
+
+        if (!decision.allowed()) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999L));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"timestamp\":\"" + LocalDateTime.now() + "\",\"status\":429," +
+                    "\"error\":\"Too many requests, retry in " + retryAfter + "s\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    static RouteClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/auth/")) return RouteClass.AUTH;
+        if (path.contains("/export/")) return RouteClass.EXPORT;
+        if (path.contains("/import/") || path.endsWith("/bulk/upsert")) return RouteClass.IMPORT;
+        if (path.endsWith("/bulk/send-invite")) return RouteClass.INVITE;
+        String search = request.getParameter("search");
+        if (search != null && !search.isBlank()) return RouteClass.SEARCH;
+        return RouteClass.DEFAULT;
+    }
+
+    private static String caller(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && auth.getName() != null) {
+            return "user:" + auth.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval:60000}")
+    public void evictIdle() {
+        limiter.evictIdle();
+    }
+}
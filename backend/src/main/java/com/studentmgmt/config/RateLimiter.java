@@ -0,0 +1,117 @@
+package com.studentmgmt.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets in GCRA form: each bucket is a single {@link AtomicLong}
+ * holding its theoretical arrival time (TAT), updated with one CAS per
+ * request, so no locks are taken on the hot path. Buckets live in
+ * {@code stripes} independent maps to spread contention and to bound memory
+ * per stripe. A bucket whose TAT has passed is indistinguishable from a fresh
+ * one, so {@link #evictIdle()} drops those without changing any outcome.
+ */
+public class RateLimiter {
+
+    /** Outcome of {@link #tryAcquire}; {@code retryAfterNanos} is 0 when allowed. */
+    public record Decision(boolean allowed, long retryAfterNanos) {
+        static final Decision ALLOW = new Decision(true, 0);
+    }
+
+    /** Sustained rate of {@code perMinute} requests with bursts of up to {@code burst}. */
+    public record Limit(int burst, int perMinute) {
+        long emissionIntervalNanos() {
+            return 60_000_000_000L / perMinute;
+        }
+    }
+
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final int maxEntriesPerStripe;
+    private final LongSupplier clock;
+
+    @SuppressWarnings("unchecked")
+    public RateLimiter(int stripes, int maxEntries, LongSupplier clock) {
+        this.stripes = new ConcurrentHashMap[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.maxEntriesPerStripe = Math.max(1, maxEntries / stripes);
+        this.clock = clock;
+    }
+
+    public Decision tryAcquire(String key, String overflowKey, Limit limit) {
+        long interval = limit.emissionIntervalNanos();
+        long tolerance = interval * limit.burst();
+        AtomicLong tat = bucket(key, overflowKey);
+        while (true) {
+            long now = clock.getAsLong();
+            long current = tat.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                return new Decision(false, wait);
+            }
+            if (tat.compareAndSet(current, next)) {
+                return Decision.ALLOW;
+            }
+        }
+    }
+
+    /**
+     * Looks up or creates the bucket for {@code key}. When the stripe is full
+     * even after evicting idle buckets, the request shares {@code overflowKey}'s
+     * bucket instead, so memory stays bounded while limits still apply.
+     */
+    private AtomicLong bucket(String key, String overflowKey) {
+        ConcurrentHashMap<String, AtomicLong> stripe = stripeFor(key);
+        AtomicLong existing = stripe.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (stripe.size() >= maxEntriesPerStripe) {
+            evictIdle(stripe);
+            if (stripe.size() >= maxEntriesPerStripe) {
+                return stripeFor(overflowKey).computeIfAbsent(overflowKey, k -> newBucket());
+            }
+        }
+        return stripe.computeIfAbsent(key, k -> newBucket());
+    }
+
+    /**
+     * A fresh bucket starts with its TAT at the current time, i.e. full. The clock
+     * is {@link System#nanoTime()}, whose origin is arbitrary and may be negative,
+     * so 0 would not be "in the past".
+     */
+    private AtomicLong newBucket() {
+        return new AtomicLong(clock.getAsLong());
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> stripeFor(String key) {
+        return stripes[Math.floorMod(key.hashCode() ^ (key.hashCode() >>> 16), stripes.length)];
+    }
+
+    /** Removes buckets that have fully refilled; returns how many were removed. */
+    public int evictIdle() {
+        int removed = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            removed += evictIdle(stripe);
+        }
+        return removed;
+    }
+
+    private int evictIdle(ConcurrentHashMap<String, AtomicLong> stripe) {
+        long now = clock.getAsLong();
+        int before = stripe.size();
+        stripe.values().removeIf(tat -> tat.get() <= now);
+        return before - stripe.size();
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,60 @@
+package com.studentmgmt.config;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access tokens revoked before their expiry, checked by {@link JwtAuthFilter}
+ * on every request without touching the database. Each entry is the 64-bit
+ * hash of the token's jti mapped to the token's expiry, so the set only holds
+ * tokens revoked within the last access-token lifetime and stays small.
+ * A hash collision can only reject a valid token (the client then refreshes),
+ * never accept a revoked one.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final ConcurrentHashMap<Long, Long> revoked = new ConcurrentHashMap<>();
+
+    public void revoke(String jti, long expiresAtMillis) {
+        if (expiresAtMillis > System.currentTimeMillis()) {
+            revoked.put(hash(jti), expiresAtMillis);
+        }
+    }
+
+    /** Revocation received from another replica, which sends the jti's hash only. */
+    public void revokeHash(long jtiHash, long expiresAtMillis) {
+        if (expiresAtMillis > System.currentTimeMillis()) {
+            revoked.put(jtiHash, expiresAtMillis);
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        Long expiresAt = revoked.get(hash(jti));
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /** Drops entries whose tokens have expired anyway; returns how many were removed. */
+    public int evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        return before - revoked.size();
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    /** 64-bit FNV-1a over the jti's bytes. */
+    public static long hash(String jti) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : jti.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
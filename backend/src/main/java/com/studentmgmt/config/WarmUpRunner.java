@@ -0,0 +1,195 @@
+package com.studentmgmt.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives synthetic, read-only traffic through the real HTTP stack right after
+ * startup: JWT parsing in {@link JwtAuthFilter}, the rate limiter, list/stats
+ * queries and Jackson serialization of {@code Page} responses all get compiled
+ * before the first user request. The connection pool is filled up front too.
+ *
+ * <p>Spring Boot reports readiness ({@code /actuator/health/readiness}) only
+ * after all {@link ApplicationRunner}s return, so the instance stays out of
+ * rotation until this finishes or {@code warmup.timeout} is reached. Results
+ * are exported as the {@code warmup.duration} timer and {@code warmup.latency}
+ * gauges (median ms of the first and last requests, {@code phase=cold|warm}).
+ */
+@Component
+@Slf4j
+public class WarmUpRunner implements ApplicationRunner {
+
+    /** Requests per synthetic user, well inside the default rate-limit burst. */
+    private static final int REQUESTS_PER_USER = 50;
+
+    private static final List<String> PATHS = List.of(
+            "/api/students?page=%d&size=10",
+            "/api/students?page=%d&size=20&sortBy=lastName&order=desc",
+            "/api/students?page=%d&size=10&active=true",
+            "/api/students/stats",
+            "/api/staff?page=%d&size=10",
+            "/api/staff?page=%d&size=20&sortBy=firstName&order=desc",
+            "/api/students?page=0&size=10&search=a%d",
+            "/api/students?page=%d&size=10&fields=id,firstName,lastName,email",
+            "/api/staff?page=%d&size=10&active=true",
+            "/api/students?page=%d&size=50");
+
+    private final JwtUtil jwtUtil;
+    private final DataSource dataSource;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int requests;
+    private final int concurrency;
+    private final int connections;
+    private final Duration timeout;
+
+    public WarmUpRunner(JwtUtil jwtUtil,
+                        DataSource dataSource,
+                        Environment environment,
+                        MeterRegistry meterRegistry,
+                        @Value("${warmup.enabled:true}") boolean enabled,
+                        @Value("${warmup.requests:2000}") int requests,
+                        @Value("${warmup.concurrency:4}") int concurrency,
+                        @Value("${warmup.connections:10}") int connections,
+                        @Value("${warmup.timeout:60s}") Duration timeout) {
+        this.jwtUtil = jwtUtil;
+        this.dataSource = dataSource;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.requests = requests;
+        this.concurrency = Math.max(1, concurrency);
+        this.connections = connections;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (!enabled || port == null || requests <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            fillPool();
+            long[] latencies = drive(port, start + timeout.toNanos());
+            record(latencies);
+        } catch (Exception e) {
+            // A failed warm-up only costs latency; it must never keep the instance from starting
+            log.warn("Warm-up aborted: {}", e.toString());
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Timer.builder("warmup.duration")
+                    .description("Time from warm-up start until the instance reported ready")
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    /** Opens the configured number of connections at once so Hikari keeps them idle for the first requests. */
+    private void fillPool() throws Exception {
+        List<Connection> held = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                Connection connection = dataSource.getConnection();
+                held.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+    }
+
+    /** Issues the synthetic requests and returns each one's latency in nanos, in issue order (0 = not sent). */
+    private long[] drive(int port, long deadline) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < (requests + REQUESTS_PER_USER - 1) / REQUESTS_PER_USER; i++) {
+            tokens.add(jwtUtil.generateToken(User.withUsername("warmup-" + i + "@localhost")
+                    .password("")
+                    .authorities(new SimpleGrantedAuthority("ROLE_STAFF"))
+                    .build()));
+        }
+
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        for (int t = 0; t < concurrency; t++) {
+            pool.execute(() -> {
+                int n;
+                while ((n = next.getAndIncrement()) < requests && System.nanoTime() < deadline) {
+                    String path = PATHS.get(n % PATHS.size()).formatted(n / PATHS.size() % 5);
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                            .header("Authorization", "Bearer " + tokens.get(n / REQUESTS_PER_USER))
+                            .timeout(Duration.ofSeconds(5))
+                            .GET()
+                            .build();
+                    long sent = System.nanoTime();
+                    try {
+                        client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[n] = Math.max(1, System.nanoTime() - sent);
+                    } catch (Exception e) {
+                        log.debug("Warm-up request {} failed: {}", path, e.toString());
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+            pool.shutdownNow();
+        }
+        return latencies;
+    }
+
+    /** Median latency of the first and the last tenth of the completed requests. */
+    private void record(long[] latencies) {
+        long[] completed = Arrays.stream(latencies).filter(l -> l > 0).toArray();
+        if (completed.length == 0) {
+            return;
+        }
+        int sample = Math.max(1, completed.length / 10);
+        double cold = medianMillis(Arrays.copyOfRange(completed, 0, sample));
+        double warm = medianMillis(Arrays.copyOfRange(completed, completed.length - sample, completed.length));
+        Gauge.builder("warmup.latency", () -> cold).tag("phase", "cold")
+                .description("Median latency of the first warm-up requests (ms)")
+                .register(meterRegistry);
+        Gauge.builder("warmup.latency", () -> warm).tag("phase", "warm")
+                .description("Median latency of the last warm-up requests (ms)")
+                .register(meterRegistry);
+        log.info("Warm-up sent {} requests: median {} ms cold, {} ms warm",
+                completed.length, String.format("%.2f", cold), String.format("%.2f", warm));
+    }
+
+    private static double medianMillis(long[] nanos) {
+        Arrays.sort(nanos);
+        return nanos[nanos.length / 2] / 1e6;
+    }
+}
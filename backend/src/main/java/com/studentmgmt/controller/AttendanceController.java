@@ -0,0 +1,46 @@
+package com.studentmgmt.controller;
+
+import com.studentmgmt.dto.AttendanceMarkRequest;
+import com.studentmgmt.dto.AttendanceMarkResult;
+import com.studentmgmt.dto.DailyAttendance;
+import com.studentmgmt.dto.StudentAttendance;
+import com.studentmgmt.service.AttendanceService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/attendance")
+@RequiredArgsConstructor
+public class AttendanceController {
+
+    private final AttendanceService attendanceService;
+
+    /** Marks every active student of a class present, except the listed absentees. */
+    @PostMapping("/mark")
+    public ResponseEntity<AttendanceMarkResult> mark(@Valid @RequestBody AttendanceMarkRequest request) {
+        return ResponseEntity.ok(attendanceService.mark(request));
+    }
+
+    /** Attendance for the term containing {@code date} (default today). */
+    @GetMapping("/students/{id}")
+    public ResponseEntity<StudentAttendance> getForStudent(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(attendanceService.getForStudent(id, date != null ? date : LocalDate.now()));
+    }
+
+    @GetMapping("/classes/{studentClass}")
+    public ResponseEntity<List<DailyAttendance>> getClassSummary(
+            @PathVariable String studentClass,
+            @RequestParam(required = false) String section,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(attendanceService.classSummary(studentClass, section, from, to));
+    }
+}
@@ -0,0 +1,39 @@
+package com.studentmgmt.controller;
+
+import com.studentmgmt.dto.AuditEntryDto;
+import com.studentmgmt.event.EntityType;
+import com.studentmgmt.repository.AuditEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/audit")
+@RequiredArgsConstructor
+public class AuditController {
+
+    private final AuditEntryRepository auditEntryRepository;
+
+    /** History of one record, newest first. {@code entity} is {@code students} or {@code staff}. */
+    @GetMapping("/{entity}/{id}")
+    public ResponseEntity<Page<AuditEntryDto>> history(
+            @PathVariable String entity,
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<AuditEntryDto> history = auditEntryRepository
+                .findByEntityTypeAndEntityIdOrderByOccurredAtDescIdDesc(entityType(entity), id, PageRequest.of(page, size))
+                .map(AuditEntryDto::from);
+        return ResponseEntity.ok(history);
+    }
+
+    private static EntityType entityType(String entity) {
+        return switch (entity.toLowerCase()) {
+            case "students", "student" -> EntityType.STUDENT;
+            case "staff" -> EntityType.STAFF;
+            default -> throw new RuntimeException("Unknown entity: " + entity);
+        };
+    }
+}
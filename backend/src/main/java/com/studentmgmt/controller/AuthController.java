@@ -1,20 +1,29 @@
 package com.studentmgmt.controller;
 
+import com.studentmgmt.config.JwtUtil;
 import com.studentmgmt.dto.AuthResponse;
 import com.studentmgmt.dto.LoginRequest;
+import com.studentmgmt.dto.RefreshRequest;
 import com.studentmgmt.dto.RegisterRequest;
 import com.studentmgmt.service.AuthService;
+import com.studentmgmt.service.TokenService;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
     private final AuthService authService;
+    private final TokenService tokenService;
+    private final JwtUtil jwtUtil;
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
@@ -25,4 +34,23 @@ public class AuthController {
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
         return ResponseEntity.ok(authService.login(request));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest request) {
+        return ResponseEntity.ok(tokenService.refresh(request.getRefreshToken()));
+    }
+
+    /** Revokes the refresh token and the access token presented with it, if any. */
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, String>> logout(
+            @Valid @RequestBody RefreshRequest request,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        Optional<Claims> access = authHeader != null && authHeader.startsWith("Bearer ")
+                ? jwtUtil.parse(authHeader.substring(7))
+                : Optional.empty();
+        tokenService.logout(request.getRefreshToken(),
+                access.map(Claims::getId).orElse(null),
+                access.map(Claims::getExpiration).orElse(null));
+        return ResponseEntity.ok(Map.of("message", "Logged out"));
+    }
 }
@@ -1,14 +1,19 @@
 package com.studentmgmt.controller;
 
+import com.studentmgmt.dto.BatchGetResult;
 import com.studentmgmt.dto.BulkRequest;
+import com.studentmgmt.dto.BulkUpsertResult;
 import com.studentmgmt.dto.StudentDto;
 import com.studentmgmt.service.EmailService;
 import com.studentmgmt.service.StudentService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -20,10 +25,24 @@ public class BulkController {
     private final StudentService studentService;
     private final EmailService emailService;
 
+    /** Multi-get: records in request order plus the ids that weren't found. */
+    @PostMapping("/get")
+    public ResponseEntity<BatchGetResult<StudentDto>> bulkGet(
+            @Valid @RequestBody BulkRequest request,
+            @RequestParam(defaultValue = "false") boolean parallel) {
+        return ResponseEntity.ok(studentService.getBatch(request.getIds(), parallel));
+    }
+
+    /** Creates or updates many records from a JSON array or NDJSON body, reporting each item's outcome. */
+    @PostMapping(value = "/upsert", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<BulkUpsertResult> bulkUpsert(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(studentService.bulkUpsert(request.getInputStream()));
+    }
+
     @PostMapping("/delete")
     public ResponseEntity<Map<String, String>> bulkDelete(@Valid @RequestBody BulkRequest request) {
-        studentService.bulkDelete(request.getIds());
-        return ResponseEntity.ok(Map.of("message", "Deleted " + request.getIds().size() + " students"));
+        int deleted = studentService.bulkDelete(request.getIds());
+        return ResponseEntity.ok(Map.of("message", "Deleted " + deleted + " students"));
     }
 
     @PostMapping("/activate")
@@ -44,7 +63,7 @@ public class BulkController {
 
         // Filter only active students
         List<StudentDto> activeStudents = students.stream()
-                .filter(StudentDto::isActive)
+                .filter(s -> !Boolean.FALSE.equals(s.getActive()))
                 .toList();
 
         if (activeStudents.isEmpty()) {
@@ -0,0 +1,28 @@
+package com.studentmgmt.controller;
+
+import com.studentmgmt.event.ChangeStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class ChangeStreamController {
+
+    private final ChangeStream changeStream;
+
+    /**
+     * Streams student and staff changes. Resumes after {@code since}, or after
+     * the {@code Last-Event-ID} a reconnecting EventSource sends; with neither,
+     * only new events are streamed.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long after = since != null ? since : lastEventId != null ? lastEventId : changeStream.lastOffset();
+        return changeStream.subscribe(after);
+    }
+}
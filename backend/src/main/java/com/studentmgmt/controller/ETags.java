@@ -0,0 +1,34 @@
+package com.studentmgmt.controller;
+
+/**
+ * Entity tags for versioned resources are the quoted {@code @Version} value.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the version named by an {@code If-Match} header, or null when the
+     * header is absent or {@code *} (unconditional).
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid If-Match header: " + ifMatch);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.studentmgmt.controller;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * Turns the {@code sortBy}/{@code order} query parameters into a {@link Sort}.
+ * Only whitelisted properties are accepted, and id is appended as a tie-breaker
+ * in the same direction so pages are stable and map onto the (key, id) indexes.
+ */
+final class SortParams {
+
+    private SortParams() {
+    }
+
+    static Sort resolve(String sortBy, String order, Set<String> sortable) {
+        if (!sortable.contains(sortBy)) {
+            throw new RuntimeException("Cannot sort by '" + sortBy + "'. Allowed: "
+                    + sortable.stream().sorted().toList());
+        }
+        Sort.Direction direction = order.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = Sort.by(direction, sortBy);
+        return "id".equals(sortBy) ? sort : sort.and(Sort.by(direction, "id"));
+    }
+}
@@ -1,12 +1,18 @@
 package com.studentmgmt.controller;
 
+import com.studentmgmt.dto.BatchGetResult;
 import com.studentmgmt.dto.BulkRequest;
+import com.studentmgmt.dto.BulkUpsertResult;
+import com.studentmgmt.dto.StaffDto;
 import com.studentmgmt.service.StaffService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.Map;
 
 @RestController
@@ -16,10 +22,24 @@ public class StaffBulkController {
 
     private final StaffService staffService;
 
+    /** Multi-get: records in request order plus the ids that weren't found. */
+    @PostMapping("/get")
+    public ResponseEntity<BatchGetResult<StaffDto>> bulkGet(
+            @Valid @RequestBody BulkRequest request,
+            @RequestParam(defaultValue = "false") boolean parallel) {
+        return ResponseEntity.ok(staffService.getBatch(request.getIds(), parallel));
+    }
+
+    /** Creates or updates many records from a JSON array or NDJSON body, reporting each item's outcome. */
+    @PostMapping(value = "/upsert", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<BulkUpsertResult> bulkUpsert(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(staffService.bulkUpsert(request.getInputStream()));
+    }
+
     @PostMapping("/delete")
     public ResponseEntity<Map<String, String>> bulkDelete(@Valid @RequestBody BulkRequest request) {
-        staffService.bulkDelete(request.getIds());
-        return ResponseEntity.ok(Map.of("message", "Deleted " + request.getIds().size() + " staff members"));
+        int deleted = staffService.bulkDelete(request.getIds());
+        return ResponseEntity.ok(Map.of("message", "Deleted " + deleted + " staff members"));
     }
 
     @PostMapping("/activate")
@@ -1,15 +1,21 @@
 package com.studentmgmt.controller;
 
+import com.studentmgmt.dto.ChangeSet;
 import com.studentmgmt.dto.StaffDto;
+import com.studentmgmt.entity.Staff;
 import com.studentmgmt.service.StaffService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/staff")
 @RequiredArgsConstructor
@@ -18,29 +24,45 @@ public class StaffController {
     private final StaffService staffService;
 
     @GetMapping
-    public ResponseEntity<Page<StaffDto>> getAll(
+    public ResponseEntity<Page<?>> getAll(
             @RequestParam(defaultValue = "") String search,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String order,
-            @RequestParam(required = false) Boolean active) {
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) List<String> fields) {
 
-        Sort sort = order.equalsIgnoreCase("desc")
-                ? Sort.by(sortBy).descending()
-                : Sort.by(sortBy).ascending();
+        PageRequest pageable = PageRequest.of(page, size, SortParams.resolve(sortBy, order, Staff.SORTABLE_FIELDS));
+        if (fields != null && !fields.isEmpty()) {
+            return ResponseEntity.ok(staffService.getAll(search, active, fields, pageable));
+        }
+        return ResponseEntity.ok(staffService.getAll(search, active, pageable));
+    }
 
-        return ResponseEntity.ok(staffService.getAll(search, active, PageRequest.of(page, size, sort)));
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeSet<StaffDto>> getChanges(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(staffService.getChanges(since, afterId, limit));
     }
 
     @PatchMapping("/{id}/toggle-active")
-    public ResponseEntity<StaffDto> toggleActive(@PathVariable Long id) {
-        return ResponseEntity.ok(staffService.toggleActive(id));
+    public ResponseEntity<StaffDto> toggleActive(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        StaffDto dto = staffService.toggleActive(id, ETags.parseIfMatch(ifMatch), includeArchived);
+        return ResponseEntity.ok().eTag(ETags.of(dto.getVersion())).body(dto);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<StaffDto> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(staffService.getById(id));
+    public ResponseEntity<StaffDto> getById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        StaffDto dto = staffService.getById(id, includeArchived);
+        return ResponseEntity.ok().eTag(ETags.of(dto.getVersion())).body(dto);
     }
 
     @PostMapping
@@ -49,8 +71,12 @@ public class StaffController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<StaffDto> update(@PathVariable Long id, @Valid @RequestBody StaffDto dto) {
-        return ResponseEntity.ok(staffService.update(id, dto));
+    public ResponseEntity<StaffDto> update(
+            @PathVariable Long id,
+            @Valid @RequestBody StaffDto dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        StaffDto updated = staffService.update(id, dto, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updated.getVersion())).body(updated);
     }
 
     @DeleteMapping("/{id}")
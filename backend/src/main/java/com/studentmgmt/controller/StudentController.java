@@ -1,18 +1,25 @@
 package com.studentmgmt.controller;
 
+import com.studentmgmt.dto.ChangeSet;
+import com.studentmgmt.dto.EnrollmentRange;
 import com.studentmgmt.dto.StudentDto;
+import com.studentmgmt.entity.Student;
 import com.studentmgmt.service.StudentService;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.PrintWriter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -23,29 +30,49 @@ public class StudentController {
     private final StudentService studentService;
 
     @GetMapping
-    public ResponseEntity<Page<StudentDto>> getAll(
+    public ResponseEntity<Page<?>> getAll(
             @RequestParam(defaultValue = "") String search,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String order,
-            @RequestParam(required = false) Boolean active) {
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) Integer cohort,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate enrolledFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate enrolledTo,
+            @RequestParam(required = false) List<String> fields) {
 
-        Sort sort = order.equalsIgnoreCase("desc")
-                ? Sort.by(sortBy).descending()
-                : Sort.by(sortBy).ascending();
+        PageRequest pageable = PageRequest.of(page, size, SortParams.resolve(sortBy, order, Student.SORTABLE_FIELDS));
+        EnrollmentRange enrolled = EnrollmentRange.of(cohort, enrolledFrom, enrolledTo);
+        if (fields != null && !fields.isEmpty()) {
+            return ResponseEntity.ok(studentService.getAll(search, active, enrolled, fields, pageable));
+        }
+        return ResponseEntity.ok(studentService.getAll(search, active, enrolled, pageable));
+    }
 
-        return ResponseEntity.ok(studentService.getAll(search, active, PageRequest.of(page, size, sort)));
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeSet<StudentDto>> getChanges(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(studentService.getChanges(since, afterId, limit));
     }
 
     @PatchMapping("/{id}/toggle-active")
-    public ResponseEntity<StudentDto> toggleActive(@PathVariable Long id) {
-        return ResponseEntity.ok(studentService.toggleActive(id));
+    public ResponseEntity<StudentDto> toggleActive(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        StudentDto dto = studentService.toggleActive(id, ETags.parseIfMatch(ifMatch), includeArchived);
+        return ResponseEntity.ok().eTag(ETags.of(dto.getVersion())).body(dto);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<StudentDto> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(studentService.getById(id));
+    public ResponseEntity<StudentDto> getById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        StudentDto dto = studentService.getById(id, includeArchived);
+        return ResponseEntity.ok().eTag(ETags.of(dto.getVersion())).body(dto);
     }
 
     @PostMapping
@@ -54,8 +81,12 @@ public class StudentController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<StudentDto> update(@PathVariable Long id, @Valid @RequestBody StudentDto dto) {
-        return ResponseEntity.ok(studentService.update(id, dto));
+    public ResponseEntity<StudentDto> update(
+            @PathVariable Long id,
+            @Valid @RequestBody StudentDto dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        StudentDto updated = studentService.update(id, dto, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updated.getVersion())).body(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -73,11 +104,12 @@ public class StudentController {
     public void exportCsv(
             @RequestParam(defaultValue = "") String search,
             @RequestParam(required = false) Boolean active,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
             HttpServletResponse response) throws Exception {
         response.setContentType("text/csv");
         response.setHeader("Content-Disposition", "attachment; filename=students.csv");
         PrintWriter writer = response.getWriter();
-        studentService.exportCsv(writer, search.isBlank() ? null : search, active);
+        studentService.exportCsv(writer, search.isBlank() ? null : search, active, includeArchived);
     }
 
     @PostMapping("/import/csv")
@@ -0,0 +1,25 @@
+package com.studentmgmt.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Takes attendance for a whole class (and optionally one section) on one day:
+ * every active student in it is marked present except {@code absentIds}.
+ */
+@Data
+public class AttendanceMarkRequest {
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+
+    @NotBlank(message = "Class is required")
+    private String studentClass;
+
+    private String section;
+
+    private List<Long> absentIds;
+}
@@ -0,0 +1,6 @@
+package com.studentmgmt.dto;
+
+import java.time.LocalDate;
+
+public record AttendanceMarkResult(LocalDate date, int marked, int present) {
+}
@@ -0,0 +1,23 @@
+package com.studentmgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.studentmgmt.entity.AuditEntry;
+import com.studentmgmt.event.ChangeType;
+import com.studentmgmt.event.EntityType;
+
+import java.time.LocalDateTime;
+
+public record AuditEntryDto(
+        Long id,
+        EntityType entityType,
+        Long entityId,
+        ChangeType action,
+        String actor,
+        @JsonRawValue String changes,
+        LocalDateTime occurredAt) {
+
+    public static AuditEntryDto from(AuditEntry entry) {
+        return new AuditEntryDto(entry.getId(), entry.getEntityType(), entry.getEntityId(), entry.getAction(),
+                entry.getActor(), entry.getChanges(), entry.getOccurredAt());
+    }
+}
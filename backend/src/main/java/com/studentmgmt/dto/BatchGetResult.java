@@ -0,0 +1,10 @@
+package com.studentmgmt.dto;
+
+import java.util.List;
+
+/**
+ * Result of a multi-get: records in the order their ids were requested
+ * (duplicates collapsed), and the requested ids that don't exist.
+ */
+public record BatchGetResult<T>(List<T> found, List<Long> missing) {
+}
@@ -0,0 +1,22 @@
+package com.studentmgmt.dto;
+
+/**
+ * Outcome for one element of a bulk upsert, identified by its position in the
+ * request body.
+ */
+public record BulkItemResult(int index, Long id, Status status, String error) {
+
+    public enum Status { CREATED, UPDATED, FAILED }
+
+    public static BulkItemResult created(int index, Long id) {
+        return new BulkItemResult(index, id, Status.CREATED, null);
+    }
+
+    public static BulkItemResult updated(int index, Long id) {
+        return new BulkItemResult(index, id, Status.UPDATED, null);
+    }
+
+    public static BulkItemResult failed(int index, String error) {
+        return new BulkItemResult(index, null, Status.FAILED, error);
+    }
+}
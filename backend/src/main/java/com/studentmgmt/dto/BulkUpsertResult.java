@@ -0,0 +1,20 @@
+package com.studentmgmt.dto;
+
+import java.util.List;
+
+public record BulkUpsertResult(int created, int updated, int failed, List<BulkItemResult> items) {
+
+    public static BulkUpsertResult of(List<BulkItemResult> items) {
+        int created = 0;
+        int updated = 0;
+        int failed = 0;
+        for (BulkItemResult item : items) {
+            switch (item.status()) {
+                case CREATED -> created++;
+                case UPDATED -> updated++;
+                case FAILED -> failed++;
+            }
+        }
+        return new BulkUpsertResult(created, updated, failed, items);
+    }
+}
@@ -0,0 +1,17 @@
+package com.studentmgmt.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of an incremental sync. Pass {@code nextSince}/{@code nextAfterId}
+ * back as {@code since}/{@code afterId} to continue; when {@code hasMore} is
+ * false the client is caught up and keeps them as its watermark.
+ */
+public record ChangeSet<T>(
+        List<T> changed,
+        List<Long> deleted,
+        LocalDateTime nextSince,
+        long nextAfterId,
+        boolean hasMore) {
+}
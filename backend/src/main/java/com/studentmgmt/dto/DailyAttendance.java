@@ -0,0 +1,7 @@
+package com.studentmgmt.dto;
+
+import java.time.LocalDate;
+
+/** Class totals for one day; {@code marked} is 0 on days without attendance taken. */
+public record DailyAttendance(LocalDate date, int marked, int present) {
+}
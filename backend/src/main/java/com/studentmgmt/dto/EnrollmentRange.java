@@ -0,0 +1,28 @@
+package com.studentmgmt.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Inclusive enrollment date bounds for student lists; either end may be open.
+ * A cohort is the calendar year of enrollment, which is exactly one
+ * {@code students} partition.
+ */
+public record EnrollmentRange(LocalDate from, LocalDate to) {
+
+    /** The range for the {@code cohort}/{@code enrolledFrom}/{@code enrolledTo} parameters, or null if none is set. */
+    public static EnrollmentRange of(Integer cohort, LocalDate from, LocalDate to) {
+        if (cohort != null) {
+            if (from != null || to != null) {
+                throw new RuntimeException("Use either cohort or enrolledFrom/enrolledTo, not both");
+            }
+            return new EnrollmentRange(LocalDate.of(cohort, 1, 1), LocalDate.of(cohort, 12, 31));
+        }
+        if (from == null && to == null) {
+            return null;
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new RuntimeException("enrolledFrom must not be after enrolledTo");
+        }
+        return new EnrollmentRange(from, to);
+    }
+}
@@ -9,6 +9,7 @@ import java.time.LocalDate;
 @Data
 public class StaffDto {
     private Long id;
+    private Long version;
 
     @NotBlank(message = "First name is required")
     private String firstName;
@@ -24,7 +25,8 @@ public class StaffDto {
     private String department;
     private String position;
     private LocalDate joinDate;
-    private boolean active = true;
+    /** Null in a request keeps the stored flag; new records default to active. */
+    private Boolean active;
     private Double salary;
     private String qualification;
     private String address;
@@ -0,0 +1,8 @@
+package com.studentmgmt.dto;
+
+import java.time.LocalDate;
+
+/** A student's attendance for one term; {@code percentage} is null until attendance has been taken. */
+public record StudentAttendance(Long studentId, LocalDate termStart, int markedDays, int presentDays,
+                                Double percentage) {
+}
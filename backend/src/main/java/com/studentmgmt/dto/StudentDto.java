@@ -9,6 +9,7 @@ import java.time.LocalDate;
 @Data
 public class StudentDto {
     private Long id;
+    private Long version;
 
     @NotBlank(message = "First name is required")
     private String firstName;
@@ -24,5 +25,6 @@ public class StudentDto {
     private String studentClass;
     private String section;
     private LocalDate enrollmentDate;
-    private boolean active = true;
+    /** Null in a request keeps the stored flag; new records default to active. */
+    private Boolean active;
 }
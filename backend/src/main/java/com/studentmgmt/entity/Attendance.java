@@ -0,0 +1,55 @@
+package com.studentmgmt.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A student's attendance for one term as two bitsets ({@link java.util.BitSet#toByteArray()}
+ * layout), bit n being day n of the term: {@code marked} if attendance was
+ * taken that day, {@code present} if the student was there. The day counters
+ * always equal the bitsets' cardinalities.
+ */
+@Entity
+@Table(name = "attendance", uniqueConstraints =
+        @UniqueConstraint(name = "uq_attendance_term_student", columnNames = {"term_start", "student_id"}))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Attendance {
+
+    /** Sequence ids (V12), so new term rows are inserted in JDBC batches. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendance_seq")
+    @SequenceGenerator(name = "attendance_seq", sequenceName = "attendance_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long studentId;
+
+    @Column(nullable = false)
+    private LocalDate termStart;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private byte[] marked = new byte[0];
+
+    @Builder.Default
+    @Column(nullable = false)
+    private byte[] present = new byte[0];
+
+    private int markedDays;
+
+    private int presentDays;
+
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,52 @@
+package com.studentmgmt.entity;
+
+import com.studentmgmt.event.ChangeType;
+import com.studentmgmt.event.EntityType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the append-only audit log. Rows are inserted in batches by
+ * {@link com.studentmgmt.audit.AuditWriter} and never updated.
+ */
+@Entity
+@Table(name = "audit_log", indexes = {
+        @Index(name = "idx_audit_log_entity", columnList = "entity_type, entity_id, occurred_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ChangeType action;
+
+    @Column(nullable = false)
+    private String actor;
+
+    /** JSON object of changed fields: {@code {"field": {"from": .., "to": ..}}}. */
+    @Column(columnDefinition = "text")
+    private String changes;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    /** Tenant whose schema the entry is written to; not a column. */
+    @Transient
+    private String tenant;
+}
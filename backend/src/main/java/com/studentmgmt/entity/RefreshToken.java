@@ -0,0 +1,53 @@
+package com.studentmgmt.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A refresh token, stored only as its SHA-256 hash. Each refresh rotates the
+ * token: the old row is marked rotated and a new one issued. Presenting a
+ * rotated token again is treated as theft and revokes the user's sessions.
+ * {@code accessJti} and
+ * {@code accessExpiresAt} identify the access token issued alongside it, so
+ * that logout can revoke both.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id"),
+        @Index(name = "idx_refresh_tokens_revoked_access", columnList = "revoked_at, access_expires_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false, length = 36)
+    private String accessJti;
+
+    @Column(nullable = false)
+    private LocalDateTime accessExpiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime rotatedAt;
+
+    /** Set on logout or theft detection; the paired access token is revoked with it. */
+    private LocalDateTime revokedAt;
+}
@@ -3,19 +3,32 @@ package com.studentmgmt.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.SourceType;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Entity
+@DynamicUpdate
+@SQLRestriction("deleted_at IS NULL")
 @Table(name = "staff")
-@Data
+@Getter
+@Setter
+@ToString
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Staff {
 
+    /** Properties clients may sort on; each one has a (column, id) index (V1__baseline.sql). */
+    public static final Set<String> SORTABLE_FIELDS = Set.of(
+            "id", "firstName", "lastName", "email", "phone",
+            "department", "position", "joinDate", "active");
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -26,7 +39,8 @@ public class Staff {
     @Column(nullable = false)
     private String lastName;
 
-    @Column(nullable = false, unique = true)
+    /** Unique among live rows only (partial index in V4__soft_delete.sql). */
+    @Column(nullable = false)
     private String email;
 
     private String phone;
@@ -47,9 +61,31 @@ public class Staff {
 
     private String address;
 
-    @CreationTimestamp
+    @Version
+    private Long version;
+
+    @CreationTimestamp(source = SourceType.DB)
     private LocalDateTime createdAt;
 
-    @UpdateTimestamp
+    @UpdateTimestamp(source = SourceType.DB)
     private LocalDateTime updatedAt;
+
+    /** Set instead of deleting the row; the purge job removes it later. */
+    private LocalDateTime deletedAt;
+
+    /**
+     * Identity is the database id, so an entity keeps the same hash while it
+     * is managed and modified; transient instances are only equal to themselves.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Staff other)) return false;
+        return id != null && id.equals(other.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Staff.class.hashCode();
+    }
 }
@@ -3,19 +3,35 @@ package com.studentmgmt.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.SourceType;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Entity
+@DynamicUpdate
+@SQLRestriction("deleted_at IS NULL")
 @Table(name = "students")
-@Data
+@Getter
+@Setter
+@ToString
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Student {
 
+    /**
+     * Properties clients may sort on; each one has a (column, id) index on every
+     * partition (V9__students_partitioned.sql).
+     */
+    public static final Set<String> SORTABLE_FIELDS = Set.of(
+            "id", "firstName", "lastName", "email", "phone",
+            "studentClass", "section", "enrollmentDate", "active");
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -26,7 +42,8 @@ public class Student {
     @Column(nullable = false)
     private String lastName;
 
-    @Column(nullable = false, unique = true)
+    /** Unique among live rows only (student_emails, see V9__students_partitioned.sql). */
+    @Column(nullable = false)
     private String email;
 
     private String phone;
@@ -36,15 +53,46 @@ public class Student {
 
     private String section;
 
+    /** Partition key of the students table, so always set; defaults to the day the row is created. */
+    @Column(nullable = false)
     private LocalDate enrollmentDate;
 
     @Builder.Default
     @Column(nullable = false, columnDefinition = "boolean default true")
     private boolean active = true;
 
-    @CreationTimestamp
+    @Version
+    private Long version;
+
+    @CreationTimestamp(source = SourceType.DB)
     private LocalDateTime createdAt;
 
-    @UpdateTimestamp
+    @UpdateTimestamp(source = SourceType.DB)
     private LocalDateTime updatedAt;
+
+    /** Set instead of deleting the row; the purge job removes it later. */
+    private LocalDateTime deletedAt;
+
+    @PrePersist
+    void defaultEnrollmentDate() {
+        if (enrollmentDate == null) {
+            enrollmentDate = LocalDate.now();
+        }
+    }
+
+    /**
+     * Identity is the database id, so an entity keeps the same hash while it
+     * is managed and modified; transient instances are only equal to themselves.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Student other)) return false;
+        return id != null && id.equals(other.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Student.class.hashCode();
+    }
 }
@@ -0,0 +1,34 @@
+package com.studentmgmt.entity;
+
+import com.studentmgmt.event.EntityType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind when a student or staff row is deleted, so incremental
+ * sync clients can learn about the delete.
+ */
+@Entity
+@Table(name = "tombstones")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
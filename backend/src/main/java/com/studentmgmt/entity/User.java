@@ -34,6 +34,10 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private Role role;
 
+    /** School schema this user works in (multi-tenant mode); null for the shared schema. */
+    @Column(length = 63)
+    private String tenant;
+
     public enum Role {
         ADMIN, STAFF
     }
@@ -0,0 +1,11 @@
+package com.studentmgmt.event;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * An {@link EntityChangedEvent} as stored in the change stream, stamped with
+ * its position in the stream.
+ */
+public record ChangeEvent(long offset, EntityType entity, ChangeType type, List<Long> ids, Object data, Instant at) {
+}
@@ -0,0 +1,59 @@
+package com.studentmgmt.event;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size ring of the most recent change events. Offsets start at 1 and
+ * grow without gaps, so a reader can resume from the last offset it saw as
+ * long as that offset has not been overwritten yet.
+ */
+public class ChangeEventBuffer {
+
+    private final ChangeEvent[] ring;
+    private long lastOffset;
+
+    public ChangeEventBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.ring = new ChangeEvent[capacity];
+    }
+
+    public synchronized ChangeEvent append(EntityChangedEvent event) {
+        long offset = ++lastOffset;
+        ChangeEvent stored = new ChangeEvent(offset, event.entity(), event.type(), event.ids(), event.data(), Instant.now());
+        ring[(int) ((offset - 1) % ring.length)] = stored;
+        return stored;
+    }
+
+    /**
+     * Events with an offset greater than {@code after}, oldest first.
+     */
+    public synchronized List<ChangeEvent> readAfter(long after) {
+        long from = Math.max(after + 1, oldestOffset());
+        List<ChangeEvent> events = new ArrayList<>((int) Math.max(0, lastOffset - from + 1));
+        for (long offset = from; offset <= lastOffset; offset++) {
+            events.add(ring[(int) ((offset - 1) % ring.length)]);
+        }
+        return events;
+    }
+
+    /**
+     * True when a reader resuming after {@code after} must resynchronise from
+     * scratch: either those events were overwritten, or the offset is ahead of
+     * this buffer (it was issued before a restart).
+     */
+    public synchronized boolean isTruncated(long after) {
+        return after > lastOffset || after + 1 < oldestOffset();
+    }
+
+    public synchronized long lastOffset() {
+        return lastOffset;
+    }
+
+    private long oldestOffset() {
+        return Math.max(1, lastOffset - ring.length + 1);
+    }
+}
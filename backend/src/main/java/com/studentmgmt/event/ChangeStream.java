@@ -0,0 +1,228 @@
+package com.studentmgmt.event;
+
+import com.studentmgmt.tenant.TenantContext;
+import com.studentmgmt.tenant.TenantRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects committed {@link EntityChangedEvent}s into the ring buffer and fans
+ * them out to Server-Sent Events subscribers. Each tenant has its own buffer
+ * and offsets, and subscribers only see the events of their own tenant.
+ * <p>
+ * Events are held once, in the tenant buffer. A subscriber only keeps the
+ * offset it last sent and reads what follows from the buffer on a shared
+ * sender pool, so its lag is the buffer's last offset minus that one. A
+ * subscriber that falls out of the buffer is sent a {@code reset} event, as
+ * when resuming from an offset that is no longer buffered; a send that takes
+ * longer than {@code send-timeout} is interrupted and the subscriber is
+ * disconnected, so a stalled client cannot hold a sender thread.
+ */
+@Component
+@Slf4j
+public class ChangeStream {
+
+    private static final long EMITTER_TIMEOUT = Duration.ofMinutes(30).toMillis();
+
+    private final int bufferSize;
+    private final long sendTimeoutNanos;
+    private final Map<String, ChangeEventBuffer> buffers = new ConcurrentHashMap<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders;
+    private final ScheduledThreadPoolExecutor watchdog;
+
+    public ChangeStream(@Value("${events.buffer-size:4096}") int bufferSize,
+                        @Value("${events.sender-threads:4}") int senderThreads,
+                        @Value("${events.send-timeout:10s}") Duration sendTimeout) {
+        this.bufferSize = bufferSize;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        AtomicInteger count = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread thread = new Thread(r, "change-stream-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "change-stream-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog.setRemoveOnCancelPolicy(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(EntityChangedEvent event) {
+        String tenant = currentTenant();
+        buffer(tenant).append(event);
+        subscribers.forEach(subscriber -> {
+            if (subscriber.tenant.equals(tenant)) {
+                subscriber.schedule();
+            }
+        });
+    }
+
+    /**
+     * Opens a stream that first replays everything after {@code since} and then
+     * follows live events. A {@code reset} event is sent first when the buffer
+     * no longer holds all events after {@code since}.
+     */
+    public SseEmitter subscribe(long since) {
+        return subscribe(since, new SseEmitter(EMITTER_TIMEOUT));
+    }
+
+    SseEmitter subscribe(long since, SseEmitter emitter) {
+        String tenant = currentTenant();
+        Subscriber subscriber = new Subscriber(emitter, tenant, buffer(tenant), since);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscribers.add(subscriber);
+        subscriber.schedule();
+        return emitter;
+    }
+
+    public long lastOffset() {
+        return buffer(currentTenant()).lastOffset();
+    }
+
+    private ChangeEventBuffer buffer(String tenant) {
+        return buffers.computeIfAbsent(tenant, t -> new ChangeEventBuffer(bufferSize));
+    }
+
+    private static String currentTenant() {
+        return TenantRegistry.schema(TenantContext.get());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        watchdog.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String tenant;
+        private final ChangeEventBuffer buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        /** Only read and written by the thread draining this subscriber. */
+        private long lastSent;
+        /** The thread inside {@code emitter.send}, if any; guarded by {@code this}. */
+        private Thread sending;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, String tenant, ChangeEventBuffer buffer, long since) {
+            this.emitter = emitter;
+            this.tenant = tenant;
+            this.buffer = buffer;
+            this.lastSent = since;
+        }
+
+        void close() {
+            synchronized (this) {
+                closed = true;
+                if (sending != null) {
+                    sending.interrupt();
+                }
+            }
+            subscribers.remove(this);
+        }
+
+        /** Disconnects the subscriber; the emitter is completed by the sender thread. */
+        private void drop(String reason) {
+            log.debug("Dropping change stream subscriber: {}", reason);
+            close();
+            schedule();
+        }
+
+        void schedule() {
+            if (!draining.compareAndSet(false, true)) return;
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    List<ChangeEvent> batch;
+                    long resetTo = -1;
+                    synchronized (buffer) {
+                        if (buffer.isTruncated(lastSent)) {
+                            resetTo = buffer.lastOffset();
+                            batch = List.of();
+                        } else {
+                            batch = buffer.readAfter(lastSent);
+                        }
+                    }
+                    if (resetTo >= 0) {
+                        send(SseEmitter.event().id(String.valueOf(resetTo)).name("reset").data(resetTo), resetTo);
+                    } else if (batch.isEmpty()) {
+                        break;
+                    }
+                    for (ChangeEvent event : batch) {
+                        if (closed) break;
+                        send(SseEmitter.event().id(String.valueOf(event.offset())).name("change").data(event),
+                                event.offset());
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            if (closed) {
+                if (completed.compareAndSet(false, true)) {
+                    emitter.complete();
+                }
+            } else if (buffer.lastOffset() > lastSent) {
+                // An event appended after the last read but before the flag was cleared
+                schedule();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event, long offset) {
+            synchronized (this) {
+                if (closed) return;
+                sending = Thread.currentThread();
+            }
+            ScheduledFuture<?> timer = watchdog.schedule(() -> drop("send timed out"),
+                    sendTimeoutNanos, TimeUnit.NANOSECONDS);
+            try {
+                emitter.send(event);
+                lastSent = offset;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping change stream subscriber: {}", e.getMessage());
+                close();
+            } finally {
+                timer.cancel(false);
+                synchronized (this) {
+                    sending = null;
+                }
+                // Clear an interrupt from a timeout that fired as the send returned
+                Thread.interrupted();
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.studentmgmt.event;
+
+import java.util.List;
+
+/**
+ * Published by the services after a mutation. {@code data} carries the new
+ * DTO for single-record creates and updates and is null for bulk changes;
+ * {@code before} carries the prior DTO for single-record updates and deletes.
+ */
+public record EntityChangedEvent(EntityType entity, ChangeType type, List<Long> ids, Object data, Object before) {
+
+    public EntityChangedEvent(EntityType entity, ChangeType type, List<Long> ids, Object data) {
+        this(entity, type, ids, data, null);
+    }
+}
@@ -0,0 +1,5 @@
+package com.studentmgmt.event;
+
+public enum EntityType {
+    STUDENT, STAFF
+}
@@ -0,0 +1,12 @@
+package com.studentmgmt.exception;
+
+/**
+ * Thrown when a write lost a race with a concurrent one (e.g. both created
+ * the same row); retrying the request is expected to succeed.
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.studentmgmt.exception;
+
+/**
+ * Thrown when a refresh token is unknown, expired, rotated or revoked.
+ */
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.studentmgmt.exception;
+
+/**
+ * Thrown when a bounded resource (such as the password hashing pool) is
+ * saturated; the client should retry shortly.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.studentmgmt.exception;
+
+/**
+ * Thrown when a conditional write names a version that is no longer current.
+ */
+public class StaleVersionException extends RuntimeException {
+
+    public StaleVersionException(String entity, Long id, Long expectedVersion) {
+        super(entity + " " + id + " has been modified since version " + expectedVersion);
+    }
+}
@@ -0,0 +1,9 @@
+package com.studentmgmt.job;
+
+/**
+ * A claimed job as handed to its {@link JobHandler}. {@code attempt} counts
+ * from 1 and doubles as the fencing token: status updates only apply while
+ * the row is still owned by this node for this attempt.
+ */
+public record Job(long id, String type, String payload, String tenant, int attempt, int maxAttempts) {
+}
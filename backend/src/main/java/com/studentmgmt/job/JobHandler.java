@@ -0,0 +1,12 @@
+package com.studentmgmt.job;
+
+/**
+ * Runs jobs of one type. A job that was running on a node that died is
+ * started again elsewhere, so handlers must be safe to re-run from the start.
+ */
+public interface JobHandler {
+
+    String type();
+
+    void run(Job job) throws Exception;
+}
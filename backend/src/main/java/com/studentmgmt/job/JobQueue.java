@@ -0,0 +1,145 @@
+package com.studentmgmt.job;
+
+import com.studentmgmt.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code jobs} table, shared by every replica. All timestamps come from
+ * the database clock so replicas with skewed clocks agree on what is due or
+ * stale. Every status change of a running job is fenced by owner and attempt:
+ * a worker that lost its job to the reaper can no longer complete or fail it.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobQueue {
+
+    static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    private static final RowMapper<Job> JOB = (rs, rowNum) -> new Job(
+            rs.getLong("id"), rs.getString("type"), rs.getString("payload"), rs.getString("tenant"),
+            rs.getInt("attempts"), rs.getInt("max_attempts"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Queues a job for the caller's tenant. */
+    public void enqueue(String type, String payload) {
+        insert(type, null, payload, TenantContext.get());
+    }
+
+    /**
+     * Queues a job unless one with the same {@code dedupeKey} exists, finished
+     * or not (finished jobs are kept for {@code jobs.retention}). Lets every
+     * replica fire the same cron while only one job is created.
+     *
+     * @return true if this call created the job
+     */
+    public boolean enqueueOnce(String type, String dedupeKey, String payload, String tenant) {
+        return insert(type, dedupeKey, payload, tenant);
+    }
+
+    private boolean insert(String type, String dedupeKey, String payload, String tenant) {
+        return jdbcTemplate.update("""
+                INSERT INTO jobs (type, dedupe_key, payload, tenant, status, max_attempts, run_after, created_at)
+                VALUES (?, ?, ?, ?, 'QUEUED', ?, now(), now())
+                ON CONFLICT (dedupe_key) WHERE dedupe_key IS NOT NULL DO NOTHING
+                """, type, dedupeKey, payload, tenant, DEFAULT_MAX_ATTEMPTS) > 0;
+    }
+
+    /**
+     * Claims up to {@code limit} due jobs of the given types for {@code owner}.
+     * Rows locked by a concurrent claim on another replica are skipped rather
+     * than waited for, so replicas never block each other or claim the same job.
+     */
+    List<Job> claim(String owner, Collection<String> types, int limit) {
+        if (types.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(types.size(), "?"));
+        Object[] args = new Object[types.size() + 2];
+        args[0] = owner;
+        int i = 1;
+        for (String type : types) {
+            args[i++] = type;
+        }
+        args[i] = limit;
+        return jdbcTemplate.query("""
+                UPDATE jobs
+                SET status = 'RUNNING', owner = ?, attempts = attempts + 1, started_at = now(), heartbeat_at = now()
+                WHERE id IN (
+                    SELECT id FROM jobs
+                    WHERE status = 'QUEUED' AND run_after <= now() AND type IN (%s)
+                    ORDER BY run_after, id
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING id, type, payload, tenant, attempts, max_attempts
+                """.formatted(placeholders), JOB, args);
+    }
+
+    /** Marks {@code jobs} as still alive. */
+    void heartbeat(String owner, Collection<Job> jobs) {
+        jdbcTemplate.batchUpdate("""
+                UPDATE jobs SET heartbeat_at = now()
+                WHERE id = ? AND owner = ? AND attempts = ? AND status = 'RUNNING'
+                """, jobs.stream().map(job -> new Object[]{job.id(), owner, job.attempt()}).toList());
+    }
+
+    /** @return false if the job was reaped and is no longer owned by {@code owner} */
+    boolean complete(Job job, String owner) {
+        return jdbcTemplate.update("""
+                UPDATE jobs SET status = 'DONE', finished_at = now(), heartbeat_at = NULL
+                WHERE id = ? AND owner = ? AND attempts = ? AND status = 'RUNNING'
+                """, job.id(), owner, job.attempt()) > 0;
+    }
+
+    /**
+     * Queues the job again after {@code retryDelay}, or marks it FAILED once
+     * its attempts are used up.
+     *
+     * @return false if the job was reaped and is no longer owned by {@code owner}
+     */
+    boolean fail(Job job, String owner, String error, Duration retryDelay) {
+        return jdbcTemplate.update("""
+                UPDATE jobs
+                SET status = CASE WHEN attempts >= max_attempts THEN 'FAILED' ELSE 'QUEUED' END,
+                    finished_at = CASE WHEN attempts >= max_attempts THEN now() END,
+                    run_after = now() + make_interval(secs => ?),
+                    owner = NULL, heartbeat_at = NULL, last_error = ?
+                WHERE id = ? AND owner = ? AND attempts = ? AND status = 'RUNNING'
+                """, retryDelay.toMillis() / 1000.0, error, job.id(), owner, job.attempt()) > 0;
+    }
+
+    /**
+     * Takes running jobs back from owners that stopped sending heartbeats
+     * (crashed or partitioned replicas). They are queued again right away, or
+     * marked FAILED if that was their last attempt. Safe to run on every replica.
+     *
+     * @return the number of jobs taken back
+     */
+    int requeueStale(Duration heartbeatTimeout) {
+        return jdbcTemplate.update("""
+                UPDATE jobs
+                SET status = CASE WHEN attempts >= max_attempts THEN 'FAILED' ELSE 'QUEUED' END,
+                    finished_at = CASE WHEN attempts >= max_attempts THEN now() END,
+                    run_after = now(),
+                    last_error = 'No heartbeat from ' || owner,
+                    owner = NULL, heartbeat_at = NULL
+                WHERE status = 'RUNNING' AND heartbeat_at < now() - make_interval(secs => ?)
+                """, heartbeatTimeout.toMillis() / 1000.0);
+    }
+
+    /** Deletes DONE and FAILED jobs that finished more than {@code retention} ago. */
+    int deleteFinished(Duration retention) {
+        return jdbcTemplate.update("""
+                DELETE FROM jobs
+                WHERE status IN ('DONE', 'FAILED') AND finished_at < now() - make_interval(secs => ?)
+                """, retention.toMillis() / 1000.0);
+    }
+}
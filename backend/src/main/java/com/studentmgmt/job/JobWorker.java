@@ -0,0 +1,161 @@
+package com.studentmgmt.job;
+
+import com.studentmgmt.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs jobs from the shared {@link JobQueue} on this replica. Each replica
+ * claims at most {@code jobs.concurrency} jobs at a time, so queued work
+ * spreads over all replicas. Running jobs are kept alive with heartbeats;
+ * every replica also reaps jobs whose owner stopped sending them, so the work
+ * of a crashed replica is picked up again after {@code jobs.heartbeat-timeout}.
+ *
+ * <p>With {@code jobs.enabled=false} this replica claims nothing, but it
+ * still queues jobs for the others.
+ */
+@Component
+@Slf4j
+public class JobWorker {
+
+    private final JobQueue queue;
+    private final Map<String, JobHandler> handlers = new HashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int concurrency;
+    private final Duration heartbeatTimeout;
+    private final Duration retryDelay;
+    private final Duration retention;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/"
+            + UUID.randomUUID().toString().substring(0, 8);
+    private final Map<Long, Job> running = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    public JobWorker(JobQueue queue,
+                     List<JobHandler> handlers,
+                     MeterRegistry meterRegistry,
+                     @Value("${jobs.enabled:true}") boolean enabled,
+                     @Value("${jobs.concurrency:2}") int concurrency,
+                     @Value("${jobs.heartbeat-timeout:60s}") Duration heartbeatTimeout,
+                     @Value("${jobs.retry-delay:30s}") Duration retryDelay,
+                     @Value("${jobs.retention:7d}") Duration retention) {
+        this.queue = queue;
+        for (JobHandler handler : handlers) {
+            if (this.handlers.put(handler.type(), handler) != null) {
+                throw new IllegalStateException("Duplicate job handler for type " + handler.type());
+            }
+        }
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.concurrency = Math.max(1, concurrency);
+        this.heartbeatTimeout = heartbeatTimeout;
+        this.retryDelay = retryDelay;
+        this.retention = retention;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.concurrency, r -> {
+            Thread thread = new Thread(r, "job-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.gauge("jobs.running", running, Map::size);
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.poll-interval:1000}")
+    public void poll() {
+        int free = concurrency - running.size();
+        if (!enabled || free <= 0 || executor.isShutdown()) {
+            return;
+        }
+        List<Job> claimed;
+        try {
+            claimed = queue.claim(owner, handlers.keySet(), free);
+        } catch (RuntimeException e) {
+            log.warn("Could not claim jobs: {}", e.getMessage());
+            return;
+        }
+        for (Job job : claimed) {
+            running.put(job.id(), job);
+            executor.execute(() -> execute(job));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.heartbeat-interval:10000}")
+    public void heartbeat() {
+        if (!running.isEmpty()) {
+            queue.heartbeat(owner, List.copyOf(running.values()));
+        }
+        if (enabled) {
+            int reaped = queue.requeueStale(heartbeatTimeout);
+            if (reaped > 0) {
+                meterRegistry.counter("jobs.reaped").increment(reaped);
+                log.warn("Took back {} jobs whose owner stopped sending heartbeats", reaped);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.cleanup-interval:3600000}")
+    public void deleteFinished() {
+        if (enabled) {
+            int removed = queue.deleteFinished(retention);
+            log.debug("Deleted {} finished jobs", removed);
+        }
+    }
+
+    private void execute(Job job) {
+        JobHandler handler = handlers.get(job.type());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "done";
+        TenantContext.set(job.tenant());
+        try {
+            handler.run(job);
+            if (!queue.complete(job, owner)) {
+                log.warn("Job {} ({}) finished after it was taken back from this replica", job.id(), job.type());
+            }
+        } catch (Exception e) {
+            outcome = job.attempt() >= job.maxAttempts() ? "failed" : "retry";
+            log.warn("Job {} ({}) attempt {}/{} failed: {}", job.id(), job.type(), job.attempt(), job.maxAttempts(),
+                    e.toString());
+            try {
+                queue.fail(job, owner, e.toString(), backoff(job.attempt()));
+            } catch (RuntimeException failed) {
+                // Left RUNNING; the reaper takes it back once the heartbeats stop
+                log.warn("Could not record failure of job {}: {}", job.id(), failed.getMessage());
+            }
+        } finally {
+            TenantContext.clear();
+            running.remove(job.id());
+            sample.stop(meterRegistry.timer("jobs.duration", "type", job.type(), "outcome", outcome));
+        }
+    }
+
+    /** {@code jobs.retry-delay} doubled per failed attempt, at most 64 times as long. */
+    Duration backoff(int attempt) {
+        return retryDelay.multipliedBy(1L << Math.min(Math.max(attempt - 1, 0), 6));
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            // Interrupted jobs are queued again through fail(); anything still stuck is reaped by another replica
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.studentmgmt.repository;
+
+import com.studentmgmt.entity.Attendance;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+
+    Optional<Attendance> findByTermStartAndStudentId(LocalDate termStart, Long studentId);
+
+    List<Attendance> findByTermStartAndStudentIdIn(LocalDate termStart, Collection<Long> studentIds);
+}
@@ -0,0 +1,13 @@
+package com.studentmgmt.repository;
+
+import com.studentmgmt.entity.AuditEntry;
+import com.studentmgmt.event.EntityType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AuditEntryRepository extends JpaRepository<AuditEntry, Long> {
+
+    Page<AuditEntry> findByEntityTypeAndEntityIdOrderByOccurredAtDescIdDesc(EntityType entityType, Long entityId,
+                                                                           Pageable pageable);
+}
@@ -0,0 +1,27 @@
+package com.studentmgmt.repository;
+
+import com.studentmgmt.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /** Revoked tokens whose access token may still be in circulation, to reseed the revocation list on boot. */
+    @Query("SELECT t FROM RefreshToken t WHERE t.revokedAt IS NOT NULL AND t.accessExpiresAt > :now")
+    List<RefreshToken> findRevokedWithLiveAccess(@Param("now") LocalDateTime now);
+
+    @Query("SELECT t FROM RefreshToken t WHERE t.userId = :userId AND t.revokedAt IS NULL")
+    List<RefreshToken> findActiveByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,15 +1,22 @@
 package com.studentmgmt.repository;
 
 import com.studentmgmt.entity.Staff;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface StaffRepository extends JpaRepository<Staff, Long> {
+public interface StaffRepository extends JpaRepository<Staff, Long>, StaffRepositoryCustom {
 
     @Query("SELECT s FROM Staff s WHERE " +
            "LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
@@ -28,4 +35,82 @@ public interface StaffRepository extends JpaRepository<Staff, Long> {
     Page<Staff> searchByActive(@Param("search") String search, @Param("active") boolean active, Pageable pageable);
 
     List<Staff> findAllByIdIn(List<Long> ids);
+
+    List<Staff> findAllByEmailIn(Collection<String> emails);
+
+    /** Rows changed after the (since, afterId) watermark and before {@code until}, in keyset order. */
+    @Query("SELECT s FROM Staff s WHERE (s.updatedAt > :since OR (s.updatedAt = :since AND s.id > :afterId)) " +
+           "AND s.updatedAt < :until ORDER BY s.updatedAt, s.id")
+    List<Staff> findChangedSince(@Param("since") LocalDateTime since, @Param("afterId") long afterId,
+                                 @Param("until") LocalDateTime until, Pageable pageable);
+
+    /**
+     * Locks the live rows among {@code ids} so that concurrent deletes of the same
+     * row see it deleted once the first one commits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Staff s WHERE s.id IN :ids")
+    List<Staff> lockLive(@Param("ids") Collection<Long> ids);
+
+    /** Marks live rows as deleted in one UPDATE; returns how many were marked. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Staff s SET s.deletedAt = CURRENT_TIMESTAMP, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id IN :ids AND s.deletedAt IS NULL")
+    int softDelete(@Param("ids") Collection<Long> ids);
+
+    /** Physically removes up to {@code batchSize} rows soft-deleted before {@code cutoff}. */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM staff WHERE id IN (" +
+                   "SELECT id FROM staff WHERE deleted_at < :cutoff ORDER BY deleted_at LIMIT :batchSize)",
+           nativeQuery = true)
+    int purgeDeleted(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    /**
+     * Moves up to {@code batchSize} live rows that are inactive and unchanged
+     * since {@code cutoff} into staff_archive, in one statement; returns their ids.
+     */
+    @Transactional
+    @Query(value = "WITH moved AS (" +
+                   "DELETE FROM staff WHERE id IN (" +
+                   "SELECT id FROM staff WHERE active = false AND deleted_at IS NULL AND updated_at < :cutoff " +
+                   "ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED) RETURNING *) " +
+                   "INSERT INTO staff_archive (id, archived_at, data) " +
+                   "SELECT id, CURRENT_TIMESTAMP, to_jsonb(moved) FROM moved RETURNING id",
+           nativeQuery = true)
+    List<Long> archiveInactive(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    /** An archived row as it was when archived. */
+    @Query(value = "SELECT r.* FROM staff_archive a, jsonb_populate_record(CAST(NULL AS staff), a.data) r WHERE a.id = :id",
+           nativeQuery = true)
+    Optional<Staff> findArchivedById(@Param("id") Long id);
+
+    /** Email of an archived row, to check it is still free before restoring. */
+    @Query(value = "SELECT data ->> 'email' FROM staff_archive WHERE id = :id", nativeQuery = true)
+    Optional<String> findArchivedEmail(@Param("id") Long id);
+
+    boolean existsByEmail(String email);
+
+    /** Moves an archived row back into staff unchanged; returns 0 if it is not archived. */
+    @Modifying
+    @Query(value = "WITH restored AS (DELETE FROM staff_archive WHERE id = :id RETURNING data) " +
+                   "INSERT INTO staff SELECT r.* FROM restored, jsonb_populate_record(CAST(NULL AS staff), restored.data) r",
+           nativeQuery = true)
+    int restoreArchived(@Param("id") Long id);
+
+    /** Records a tombstone per id; callers pass only the ids they have just soft-deleted. */
+    @Modifying
+    @Query(value = "INSERT INTO tombstones (entity_type, entity_id, deleted_at) " +
+                   "SELECT 'STAFF', id, CURRENT_TIMESTAMP FROM staff WHERE id IN (:ids)", nativeQuery = true)
+    int insertTombstones(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Flips {@code active} in a single UPDATE, optionally only if the row is still
+     * at {@code version}. Returns the number of rows changed (0 or 1).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Staff s SET s.active = CASE WHEN s.active = true THEN false ELSE true END, " +
+           "s.version = s.version + 1, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id = :id AND s.deletedAt IS NULL AND (:version IS NULL OR s.version = :version)")
+    int toggleActive(@Param("id") Long id, @Param("version") Long version);
 }
@@ -0,0 +1,14 @@
+package com.studentmgmt.repository;
+
+import com.studentmgmt.entity.Staff;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+public interface StaffRepositoryCustom {
+
+    Page<Map<String, Object>> findProjected(Specification<Staff> spec, List<String> fields, Pageable pageable);
+}
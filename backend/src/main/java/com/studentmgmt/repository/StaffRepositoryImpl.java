@@ -0,0 +1,22 @@
+package com.studentmgmt.repository;
+
+import com.studentmgmt.entity.Staff;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+class StaffRepositoryImpl implements StaffRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Map<String, Object>> findProjected(Specification<Staff> spec, List<String> fields, Pageable pageable) {
+        return ProjectionQuery.page(entityManager, Staff.class, spec, fields, pageable);
+    }
+}
@@ -0,0 +1,32 @@
+package com.studentmgmt.repository;
+
+import com.studentmgmt.entity.Staff;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Criteria equivalents of the {@link StaffRepository} search queries, for
+ * callers that build the select list themselves.
+ */
+public final class StaffSpecifications {
+
+    private StaffSpecifications() {
+    }
+
+    public static Specification<Staff> matching(String search, Boolean active) {
+        return (root, query, cb) -> {
+            var predicate = cb.conjunction();
+            if (search != null && !search.isBlank()) {
+                String pattern = "%" + search.toLowerCase() + "%";
+                predicate = cb.and(predicate, cb.or(
+                        cb.like(cb.lower(root.get("firstName")), pattern),
+                        cb.like(cb.lower(root.get("lastName")), pattern),
+                        cb.like(cb.lower(root.get("email")), pattern),
+                        cb.like(cb.lower(root.get("department")), pattern)));
+            }
+            if (active != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("active"), active));
+            }
+            return predicate;
+        };
+    }
+}
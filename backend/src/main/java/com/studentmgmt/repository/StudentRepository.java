@@ -1,15 +1,24 @@
 package com.studentmgmt.repository;
 
 import com.studentmgmt.entity.Student;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student>,
+        StudentRepositoryCustom {
 
     @Query("SELECT s FROM Student s WHERE " +
            "LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
@@ -27,5 +36,95 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     List<Student> findAllByIdIn(List<Long> ids);
 
+    List<Student> findAllByEmailIn(Collection<String> emails);
+
+    /** Rows changed after the (since, afterId) watermark and before {@code until}, in keyset order. */
+    @Query("SELECT s FROM Student s WHERE (s.updatedAt > :since OR (s.updatedAt = :since AND s.id > :afterId)) " +
+           "AND s.updatedAt < :until ORDER BY s.updatedAt, s.id")
+    List<Student> findChangedSince(@Param("since") LocalDateTime since, @Param("afterId") long afterId,
+                                 @Param("until") LocalDateTime until, Pageable pageable);
+
+    /**
+     * Locks the live rows among {@code ids} so that concurrent deletes of the same
+     * row see it deleted once the first one commits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Student s WHERE s.id IN :ids")
+    List<Student> lockLive(@Param("ids") Collection<Long> ids);
+
+    /** Marks live rows as deleted in one UPDATE; returns how many were marked. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Student s SET s.deletedAt = CURRENT_TIMESTAMP, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id IN :ids AND s.deletedAt IS NULL")
+    int softDelete(@Param("ids") Collection<Long> ids);
+
+    /** Physically removes up to {@code batchSize} rows soft-deleted before {@code cutoff}. */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM students WHERE id IN (" +
+                   "SELECT id FROM students WHERE deleted_at < :cutoff ORDER BY deleted_at LIMIT :batchSize)",
+           nativeQuery = true)
+    int purgeDeleted(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    /**
+     * Moves up to {@code batchSize} live rows that are inactive and unchanged
+     * since {@code cutoff} into student_archive, in one statement; returns their ids.
+     */
+    @Transactional
+    @Query(value = "WITH moved AS (" +
+                   "DELETE FROM students WHERE id IN (" +
+                   "SELECT id FROM students WHERE active = false AND deleted_at IS NULL AND updated_at < :cutoff " +
+                   "ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED) RETURNING *) " +
+                   "INSERT INTO student_archive (id, archived_at, data) " +
+                   "SELECT id, CURRENT_TIMESTAMP, to_jsonb(moved) FROM moved RETURNING id",
+           nativeQuery = true)
+    List<Long> archiveInactive(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    /** An archived row as it was when archived. */
+    @Query(value = "SELECT r.* FROM student_archive a, jsonb_populate_record(CAST(NULL AS students), a.data) r WHERE a.id = :id",
+           nativeQuery = true)
+    Optional<Student> findArchivedById(@Param("id") Long id);
+
+    /** Email of an archived row, to check it is still free before restoring. */
+    @Query(value = "SELECT data ->> 'email' FROM student_archive WHERE id = :id", nativeQuery = true)
+    Optional<String> findArchivedEmail(@Param("id") Long id);
+
+    boolean existsByEmail(String email);
+
+    /** Moves an archived row back into students unchanged; returns 0 if it is not archived. */
+    @Modifying
+    @Query(value = "WITH restored AS (DELETE FROM student_archive WHERE id = :id RETURNING data) " +
+                   "INSERT INTO students SELECT r.* FROM restored, jsonb_populate_record(CAST(NULL AS students), restored.data) r",
+           nativeQuery = true)
+    int restoreArchived(@Param("id") Long id);
+
+    @Query(value = "SELECT r.* FROM student_archive a, jsonb_populate_record(CAST(NULL AS students), a.data) r WHERE " +
+                   "LOWER(r.first_name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+                   "LOWER(r.last_name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+                   "LOWER(r.email) LIKE LOWER(CONCAT('%', :search, '%')) ORDER BY a.id",
+           nativeQuery = true)
+    List<Student> searchArchived(@Param("search") String search);
+
+    /** Records a tombstone per id; callers pass only the ids they have just soft-deleted. */
+    @Modifying
+    @Query(value = "INSERT INTO tombstones (entity_type, entity_id, deleted_at) " +
+                   "SELECT 'STUDENT', id, CURRENT_TIMESTAMP FROM students WHERE id IN (:ids)", nativeQuery = true)
+    int insertTombstones(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Flips {@code active} in a single UPDATE, optionally only if the row is still
+     * at {@code version}. Returns the number of rows changed (0 or 1).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Student s SET s.active = CASE WHEN s.active = true THEN false ELSE true END, " +
+           "s.version = s.version + 1, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id = :id AND s.deletedAt IS NULL AND (:version IS NULL OR s.version = :version)")
+    int toggleActive(@Param("id") Long id, @Param("version") Long version);
+
     long countByActive(boolean active);
+
+    /** Ids of the active students in a class (and section, if given), via the (student_class, id) index. */
+    @Query("SELECT s.id FROM Student s WHERE s.studentClass = :studentClass " +
+           "AND (:section IS NULL OR s.section = :section) AND s.active = true ORDER BY s.id")
+    List<Long> findActiveIdsInClass(@Param("studentClass") String studentClass, @Param("section") String section);
 }
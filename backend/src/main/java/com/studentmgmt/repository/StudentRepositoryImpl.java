@@ -0,0 +1,22 @@
+package com.studentmgmt.repository;
+
+import com.studentmgmt.entity.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+class StudentRepositoryImpl implements StudentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Map<String, Object>> findProjected(Specification<Student> spec, List<String> fields, Pageable pageable) {
+        return ProjectionQuery.page(entityManager, Student.class, spec, fields, pageable);
+    }
+}
@@ -0,0 +1,49 @@
+package com.studentmgmt.repository;
+
+import com.studentmgmt.dto.EnrollmentRange;
+import com.studentmgmt.entity.Student;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Criteria equivalents of the {@link StudentRepository} search queries, for
+ * callers that build the select list themselves.
+ */
+public final class StudentSpecifications {
+
+    private StudentSpecifications() {
+    }
+
+    public static Specification<Student> matching(String search, Boolean active) {
+        return matching(search, active, null);
+    }
+
+    /**
+     * As {@link #matching(String, Boolean)}, limited to an enrollment range.
+     * The bounds are plain comparisons on the partition key, so Postgres
+     * only scans the partitions of the years in range.
+     */
+    public static Specification<Student> matching(String search, Boolean active, EnrollmentRange enrolled) {
+        return (root, query, cb) -> {
+            var predicate = cb.conjunction();
+            if (search != null && !search.isBlank()) {
+                String pattern = "%" + search.toLowerCase() + "%";
+                predicate = cb.and(predicate, cb.or(
+                        cb.like(cb.lower(root.get("firstName")), pattern),
+                        cb.like(cb.lower(root.get("lastName")), pattern),
+                        cb.like(cb.lower(root.get("email")), pattern)));
+            }
+            if (active != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("active"), active));
+            }
+            if (enrolled != null && enrolled.from() != null) {
+                predicate = cb.and(predicate, cb.greaterThanOrEqualTo(root.<LocalDate>get("enrollmentDate"), enrolled.from()));
+            }
+            if (enrolled != null && enrolled.to() != null) {
+                predicate = cb.and(predicate, cb.lessThanOrEqualTo(root.<LocalDate>get("enrollmentDate"), enrolled.to()));
+            }
+            return predicate;
+        };
+    }
+}
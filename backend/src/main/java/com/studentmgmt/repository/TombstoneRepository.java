@@ -0,0 +1,29 @@
+package com.studentmgmt.repository;
+
+import com.studentmgmt.entity.Tombstone;
+import com.studentmgmt.event.EntityType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    /** Ids deleted in [since, until), oldest first. */
+    @Query("SELECT t.entityId FROM Tombstone t WHERE t.entityType = :type " +
+           "AND t.deletedAt >= :since AND t.deletedAt < :until ORDER BY t.deletedAt, t.id")
+    List<Long> findDeletedIds(@Param("type") EntityType type,
+                              @Param("since") LocalDateTime since,
+                              @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM tombstones WHERE id IN (" +
+                   "SELECT id FROM tombstones WHERE deleted_at < :cutoff ORDER BY deleted_at LIMIT :batchSize)",
+           nativeQuery = true)
+    int purgeOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+}
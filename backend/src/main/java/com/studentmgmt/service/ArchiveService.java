@@ -0,0 +1,124 @@
+package com.studentmgmt.service;
+
+import com.studentmgmt.cache.InvalidationBus;
+import com.studentmgmt.cache.LocalCaches;
+import com.studentmgmt.job.Job;
+import com.studentmgmt.job.JobHandler;
+import com.studentmgmt.job.JobQueue;
+import com.studentmgmt.repository.StaffRepository;
+import com.studentmgmt.repository.StudentRepository;
+import com.studentmgmt.tenant.TenantRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Moves students and staff that have been inactive and unchanged for
+ * {@code archive.after} into the archive tables (V10__archive.sql), so the
+ * hot tables and their indexes only hold records that are still in use.
+ * Archived records drop out of lists and searches; {@code getById},
+ * {@code toggleActive} and the student export reach them with
+ * {@code includeArchived=true}, and toggling one moves it back.
+ *
+ * <p>Runs like {@link PurgeService}: one daily job per schema, small
+ * batches (each one statement, so a record is never in both places) with
+ * pauses in between, and a time window per run.
+ */
+@Service
+@Slf4j
+public class ArchiveService implements JobHandler {
+
+    static final String JOB_TYPE = "archive";
+
+    private final StudentRepository studentRepository;
+    private final StaffRepository staffRepository;
+    private final TenantRegistry tenantRegistry;
+    private final JobQueue jobQueue;
+    private final InvalidationBus invalidationBus;
+    private final boolean enabled;
+    private final Duration after;
+    private final int batchSize;
+    private final Duration pause;
+    private final Duration window;
+
+    public ArchiveService(StudentRepository studentRepository,
+                          StaffRepository staffRepository,
+                          TenantRegistry tenantRegistry,
+                          JobQueue jobQueue,
+                          InvalidationBus invalidationBus,
+                          @Value("${archive.enabled:true}") boolean enabled,
+                          @Value("${archive.after:365d}") Duration after,
+                          @Value("${archive.batch-size:500}") int batchSize,
+                          @Value("${archive.pause:200ms}") Duration pause,
+                          @Value("${archive.window:1h}") Duration window) {
+        this.studentRepository = studentRepository;
+        this.staffRepository = staffRepository;
+        this.tenantRegistry = tenantRegistry;
+        this.jobQueue = jobQueue;
+        this.invalidationBus = invalidationBus;
+        this.enabled = enabled;
+        this.after = after;
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.window = window;
+    }
+
+    @Scheduled(cron = "${archive.cron:0 30 2 * * *}")
+    public void schedule() {
+        if (!enabled) {
+            return;
+        }
+        List<String> tenants = new ArrayList<>();
+        tenants.add(null);
+        tenants.addAll(tenantRegistry.tenants());
+        String day = LocalDate.now().toString();
+        for (String tenant : tenants) {
+            jobQueue.enqueueOnce(JOB_TYPE, JOB_TYPE + ":" + day + ":" + TenantRegistry.schema(tenant), null, tenant);
+        }
+    }
+
+    @Override
+    public String type() {
+        return JOB_TYPE;
+    }
+
+    /** Archives the job's schema; the worker has already switched to its tenant. */
+    @Override
+    public void run(Job job) {
+        long deadline = System.nanoTime() + window.toNanos();
+        LocalDateTime cutoff = LocalDateTime.now().minus(after);
+        int students = drain(LocalCaches.STUDENTS, studentRepository::archiveInactive, cutoff, deadline);
+        int staff = drain(LocalCaches.STAFF, staffRepository::archiveInactive, cutoff, deadline);
+        log.info("Archive of {} finished: {} students, {} staff moved", TenantRegistry.schema(job.tenant()),
+                students, staff);
+    }
+
+    private int drain(String cache, BiFunction<LocalDateTime, Integer, List<Long>> batch,
+                      LocalDateTime cutoff, long deadline) {
+        int total = 0;
+        while (System.nanoTime() < deadline) {
+            List<Long> moved = batch.apply(cutoff, batchSize);
+            total += moved.size();
+            if (!moved.isEmpty()) {
+                invalidationBus.invalidate(cache, moved.stream().map(LocalCaches::tenantKey).toList());
+            }
+            if (moved.size() < batchSize) break;
+            try {
+                Thread.sleep(pause.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Archive of {} interrupted after {} rows", cache, total);
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,67 @@
+package com.studentmgmt.service;
+
+import com.studentmgmt.entity.Attendance;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Bit operations on {@link Attendance} rows. Per-day class totals are
+ * computed as bit-sliced counters: each student's bitset is added into a
+ * handful of counter bitsets (slice j holds bit j of every day's count) with
+ * AND/XOR carries, so a whole range of days is summed a 64-day word at a time
+ * instead of looking at each student-day.
+ */
+final class AttendanceBitmaps {
+
+    private AttendanceBitmaps() {
+    }
+
+    /** Records one day; marking the same day again overwrites it. */
+    static void mark(Attendance row, int day, boolean present) {
+        BitSet marked = BitSet.valueOf(row.getMarked());
+        BitSet presentBits = BitSet.valueOf(row.getPresent());
+        if (!marked.get(day)) {
+            marked.set(day);
+            row.setMarked(marked.toByteArray());
+            row.setMarkedDays(row.getMarkedDays() + 1);
+        }
+        if (presentBits.get(day) != present) {
+            presentBits.set(day, present);
+            row.setPresent(presentBits.toByteArray());
+            row.setPresentDays(row.getPresentDays() + (present ? 1 : -1));
+        }
+    }
+
+    /** Bits {@code from} (inclusive) to {@code to} (exclusive) of a stored bitset, shifted down to start at 0. */
+    static BitSet slice(byte[] bits, int from, int to) {
+        return BitSet.valueOf(bits).get(from, to);
+    }
+
+    /** For each of the first {@code days} bits, how many of {@code rows} have it set. */
+    static int[] countPerDay(List<BitSet> rows, int days) {
+        List<BitSet> slices = new ArrayList<>();
+        for (BitSet row : rows) {
+            BitSet carry = (BitSet) row.clone();
+            for (int j = 0; !carry.isEmpty(); j++) {
+                if (j == slices.size()) {
+                    slices.add(new BitSet(days));
+                }
+                BitSet slice = slices.get(j);
+                BitSet next = (BitSet) slice.clone();
+                next.and(carry);
+                slice.xor(carry);
+                carry = next;
+            }
+        }
+        int[] counts = new int[days];
+        for (int j = 0; j < slices.size(); j++) {
+            BitSet slice = slices.get(j);
+            for (int day = slice.nextSetBit(0); day >= 0 && day < days; day = slice.nextSetBit(day + 1)) {
+                counts[day] += 1 << j;
+            }
+        }
+        return counts;
+    }
+}
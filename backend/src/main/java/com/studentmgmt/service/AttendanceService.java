@@ -0,0 +1,139 @@
+package com.studentmgmt.service;
+
+import com.studentmgmt.dto.AttendanceMarkRequest;
+import com.studentmgmt.dto.AttendanceMarkResult;
+import com.studentmgmt.dto.DailyAttendance;
+import com.studentmgmt.dto.StudentAttendance;
+import com.studentmgmt.entity.Attendance;
+import com.studentmgmt.exception.ConflictException;
+import com.studentmgmt.repository.AttendanceRepository;
+import com.studentmgmt.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Attendance kept as one bitset row per student and term (see
+ * {@link Attendance}). A term starts on the first of
+ * {@code attendance.term-start-month} and runs for a year.
+ */
+@Service
+public class AttendanceService {
+
+    private final AttendanceRepository attendanceRepository;
+    private final StudentRepository studentRepository;
+    private final ReadOnlyTransactions readOnly;
+    private final int termStartMonth;
+
+    public AttendanceService(AttendanceRepository attendanceRepository,
+                             StudentRepository studentRepository,
+                             ReadOnlyTransactions readOnly,
+                             @Value("${attendance.term-start-month:8}") int termStartMonth) {
+        this.attendanceRepository = attendanceRepository;
+        this.studentRepository = studentRepository;
+        this.readOnly = readOnly;
+        this.termStartMonth = termStartMonth;
+    }
+
+    /** Marks a whole class in one transaction: one read and one batched write of the class's term rows. */
+    @Transactional
+    public AttendanceMarkResult mark(AttendanceMarkRequest request) {
+        LocalDate date = request.getDate();
+        if (date.isAfter(LocalDate.now())) {
+            throw new RuntimeException("Cannot take attendance for a future date");
+        }
+        List<Long> ids = studentRepository.findActiveIdsInClass(request.getStudentClass(), request.getSection());
+        if (ids.isEmpty()) {
+            throw new RuntimeException("No active students in class " + request.getStudentClass()
+                    + (request.getSection() != null ? " section " + request.getSection() : ""));
+        }
+        Set<Long> members = new HashSet<>(ids);
+        Set<Long> absent = request.getAbsentIds() == null ? Set.of() : new HashSet<>(request.getAbsentIds());
+        List<Long> unknown = absent.stream().filter(id -> !members.contains(id)).sorted().toList();
+        if (!unknown.isEmpty()) {
+            throw new RuntimeException("Not active students of this class: " + unknown);
+        }
+
+        LocalDate termStart = termStart(date);
+        int day = (int) ChronoUnit.DAYS.between(termStart, date);
+        Map<Long, Attendance> rows = new HashMap<>();
+        attendanceRepository.findByTermStartAndStudentIdIn(termStart, ids)
+                .forEach(row -> rows.put(row.getStudentId(), row));
+        for (Long id : ids) {
+            Attendance row = rows.computeIfAbsent(id, studentId ->
+                    Attendance.builder().studentId(studentId).termStart(termStart).build());
+            AttendanceBitmaps.mark(row, day, !absent.contains(id));
+        }
+        try {
+            attendanceRepository.saveAllAndFlush(rows.values());
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent first mark of the term created some of the same rows (uq_attendance_term_student)
+            throw new ConflictException("Attendance for class " + request.getStudentClass()
+                    + " is being taken by another request, please retry");
+        }
+        return new AttendanceMarkResult(date, ids.size(), ids.size() - absent.size());
+    }
+
+    /** The term containing {@code date}: a single-row read of the stored counters. */
+    public StudentAttendance getForStudent(Long studentId, LocalDate date) {
+        LocalDate termStart = termStart(date);
+        return readOnly.execute(() -> attendanceRepository.findByTermStartAndStudentId(termStart, studentId)
+                .map(row -> new StudentAttendance(studentId, termStart, row.getMarkedDays(), row.getPresentDays(),
+                        row.getMarkedDays() == 0 ? null : 100.0 * row.getPresentDays() / row.getMarkedDays()))
+                .orElse(new StudentAttendance(studentId, termStart, 0, 0, null)));
+    }
+
+    /**
+     * Per-day totals for the class's active students between {@code from} and
+     * {@code to} (inclusive, within one term), summed over the bitsets with
+     * {@link AttendanceBitmaps#countPerDay}. Rows carry no class, so this is
+     * the current roster's attendance: students who have since left the class
+     * or been deactivated are not counted, even for days they were marked.
+     */
+    public List<DailyAttendance> classSummary(String studentClass, String section, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("from must not be after to");
+        }
+        LocalDate termStart = termStart(from);
+        if (!termStart.equals(termStart(to))) {
+            throw new RuntimeException("from and to must be in the same term (starting " + termStart + ")");
+        }
+        int first = (int) ChronoUnit.DAYS.between(termStart, from);
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+
+        List<Attendance> rows = readOnly.execute(() -> {
+            List<Long> ids = studentRepository.findActiveIdsInClass(studentClass, section);
+            return ids.isEmpty() ? List.<Attendance>of() : attendanceRepository.findByTermStartAndStudentIdIn(termStart, ids);
+        });
+        List<BitSet> marked = new ArrayList<>(rows.size());
+        List<BitSet> present = new ArrayList<>(rows.size());
+        for (Attendance row : rows) {
+            marked.add(AttendanceBitmaps.slice(row.getMarked(), first, first + days));
+            present.add(AttendanceBitmaps.slice(row.getPresent(), first, first + days));
+        }
+        int[] markedPerDay = AttendanceBitmaps.countPerDay(marked, days);
+        int[] presentPerDay = AttendanceBitmaps.countPerDay(present, days);
+
+        List<DailyAttendance> summary = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            summary.add(new DailyAttendance(from.plusDays(i), markedPerDay[i], presentPerDay[i]));
+        }
+        return summary;
+    }
+
+    LocalDate termStart(LocalDate date) {
+        LocalDate start = LocalDate.of(date.getYear(), termStartMonth, 1);
+        return date.isBefore(start) ? start.minusYears(1) : start;
+    }
+}
@@ -1,6 +1,7 @@
 package com.studentmgmt.service;
 
-import com.studentmgmt.config.JwtUtil;
+import com.studentmgmt.cache.InvalidationBus;
+import com.studentmgmt.cache.LocalCaches;
 import com.studentmgmt.dto.AuthResponse;
 import com.studentmgmt.dto.LoginRequest;
 import com.studentmgmt.dto.RegisterRequest;
@@ -9,17 +10,21 @@ import com.studentmgmt.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final JwtUtil jwtUtil;
+    private final TokenService tokenService;
     private final AuthenticationManager authenticationManager;
+    private final InvalidationBus invalidationBus;
 
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -34,18 +39,15 @@ public class AuthService {
                 .build();
 
         userRepository.save(user);
-        String token = jwtUtil.generateToken(user);
-        return new AuthResponse(token, user.getName(), user.getEmail(), user.getRole().name());
+        invalidationBus.invalidate(LocalCaches.USERS, List.of(user.getEmail()));
+        return tokenService.issue(user);
     }
 
     public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
 
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        String token = jwtUtil.generateToken(user);
-        return new AuthResponse(token, user.getName(), user.getEmail(), user.getRole().name());
+        // The principal is the User loaded (or taken from the cache) during authentication
+        return tokenService.issue((User) authentication.getPrincipal());
     }
 }
@@ -0,0 +1,273 @@
+package com.studentmgmt.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmgmt.dto.BulkItemResult;
+import com.studentmgmt.dto.BulkUpsertResult;
+import com.studentmgmt.event.ChangeType;
+import com.studentmgmt.exception.StaleVersionException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drives a bulk upsert: reads a JSON array or NDJSON body one element at a
+ * time, validates each element, and writes valid ones in batches, each batch
+ * in its own transaction. Elements with an id update that record; elements
+ * without one update the live record with the same email, or create a new
+ * one. If a batch fails as a whole (e.g. a unique constraint), its items are
+ * retried one per transaction so only the offending ones are reported as
+ * failed.
+ */
+@Component
+@Slf4j
+public class BulkUpserter {
+
+    /** A parsed, valid element and its position in the request body. */
+    public record Item<D>(int index, D dto) {
+    }
+
+    /** The entity-specific operations a bulk upsert of {@code D} into {@code E} needs. */
+    public interface Target<D, E> {
+
+        /** Entity name for error messages, e.g. "Student". */
+        String name();
+
+        Long id(D dto);
+
+        Long version(D dto);
+
+        String email(D dto);
+
+        List<E> findAllByIdIn(List<Long> ids);
+
+        List<E> findAllByEmailIn(Collection<String> emails);
+
+        E toEntity(D dto);
+
+        /** Copies an element onto an existing record; fields the element leaves null are kept. */
+        void apply(D dto, E entity);
+
+        void saveAllAndFlush(List<E> entities);
+
+        D toDto(E entity);
+
+        void publish(ChangeType type, List<Long> ids, D data, D before);
+    }
+
+    /**
+     * A record touched by the batch; {@code before} is null if the batch created it.
+     * Compared by identity, as entity equals() depends on mutable fields.
+     */
+    private static final class Row<D, E> {
+        private final E entity;
+        private final D before;
+
+        Row(E entity, D before) {
+            this.entity = entity;
+            this.before = before;
+        }
+    }
+
+    private record PendingWrite<D, E>(int index, Row<D, E> row, boolean created) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxItems;
+
+    public BulkUpserter(ObjectMapper objectMapper,
+                        Validator validator,
+                        TransactionTemplate transactionTemplate,
+                        @Value("${bulk-upsert.batch-size:500}") int batchSize,
+                        @Value("${bulk-upsert.max-items:100000}") int maxItems) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxItems = maxItems;
+    }
+
+    public <D, E> BulkUpsertResult run(InputStream body, Class<D> type, Target<D, E> target) throws IOException {
+        Function<List<Item<D>>, List<BulkItemResult>> writer = items -> upsertBatch(items, target);
+        List<BulkItemResult> results = new ArrayList<>();
+        List<Item<D>> batch = new ArrayList<>(batchSize);
+        int index = 0;
+
+        // readValues unwraps a top-level array and also reads whitespace-separated values (NDJSON)
+        MappingIterator<D> iterator;
+        try {
+            iterator = objectMapper.readerFor(type).readValues(body);
+        } catch (JsonParseException e) {
+            throw new RuntimeException("Malformed JSON: " + e.getOriginalMessage());
+        }
+        try (MappingIterator<D> elements = iterator) {
+            while (true) {
+                D dto;
+                try {
+                    if (!elements.hasNextValue()) break;
+                    if (index >= maxItems) {
+                        results.add(BulkItemResult.failed(index, "Too many items, at most " + maxItems + " per request"));
+                        break;
+                    }
+                    dto = elements.nextValue();
+                } catch (JsonParseException e) {
+                    results.add(BulkItemResult.failed(index, "Malformed JSON: " + e.getOriginalMessage()));
+                    break;
+                } catch (DatabindException e) {
+                    results.add(BulkItemResult.failed(index++, "Invalid item: " + e.getOriginalMessage()));
+                    continue;
+                }
+
+                String violations = violations(dto);
+                if (violations != null) {
+                    results.add(BulkItemResult.failed(index++, violations));
+                    continue;
+                }
+                batch.add(new Item<>(index++, dto));
+                if (batch.size() == batchSize) {
+                    results.addAll(write(batch, writer));
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            results.addAll(write(batch, writer));
+        }
+        results.sort(Comparator.comparingInt(BulkItemResult::index));
+        return BulkUpsertResult.of(results);
+    }
+
+    /** Writes one batch; runs inside the batch transaction. */
+    private <D, E> List<BulkItemResult> upsertBatch(List<Item<D>> items, Target<D, E> target) {
+        List<Long> ids = items.stream().map(item -> target.id(item.dto())).filter(Objects::nonNull).toList();
+        List<String> emails = items.stream().filter(item -> target.id(item.dto()) == null)
+                .map(item -> target.email(item.dto())).toList();
+        Map<Long, Row<D, E>> byId = new HashMap<>();
+        Map<String, Row<D, E>> byEmail = new HashMap<>();
+        if (!ids.isEmpty()) {
+            target.findAllByIdIn(ids).forEach(entity -> {
+                D before = target.toDto(entity);
+                byId.put(target.id(before), new Row<>(entity, before));
+            });
+        }
+        if (!emails.isEmpty()) {
+            target.findAllByEmailIn(emails).forEach(entity -> {
+                D before = target.toDto(entity);
+                byEmail.put(target.email(before), new Row<>(entity, before));
+            });
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(items.size());
+        List<PendingWrite<D, E>> pending = new ArrayList<>(items.size());
+        for (Item<D> item : items) {
+            D dto = item.dto();
+            Long id = target.id(dto);
+            Long version = target.version(dto);
+            Row<D, E> row = id != null ? byId.get(id) : byEmail.get(target.email(dto));
+            if (id != null && row == null) {
+                results.add(BulkItemResult.failed(item.index(), target.name() + " not found with id: " + id));
+                continue;
+            }
+            if (row != null && version != null && (row.before == null || !version.equals(target.version(row.before)))) {
+                Long rowId = row.before != null ? target.id(row.before) : null;
+                results.add(BulkItemResult.failed(item.index(),
+                        new StaleVersionException(target.name(), rowId, version).getMessage()));
+                continue;
+            }
+            boolean created = row == null;
+            if (created) {
+                row = new Row<>(target.toEntity(dto), null);
+                byEmail.put(target.email(dto), row);
+            } else {
+                target.apply(dto, row.entity);
+            }
+            pending.add(new PendingWrite<>(item.index(), row, created));
+        }
+
+        target.saveAllAndFlush(pending.stream().map(PendingWrite::row).distinct().map(row -> row.entity).toList());
+
+        List<Long> createdIds = new ArrayList<>();
+        Set<Row<D, E>> updated = new LinkedHashSet<>();
+        for (PendingWrite<D, E> write : pending) {
+            Row<D, E> row = write.row();
+            D after = target.toDto(row.entity);
+            Long id = target.id(after);
+            if (write.created()) {
+                createdIds.add(id);
+                results.add(BulkItemResult.created(write.index(), id));
+            } else {
+                results.add(BulkItemResult.updated(write.index(), id));
+                if (row.before != null) {
+                    updated.add(row);
+                }
+            }
+        }
+        if (!createdIds.isEmpty()) {
+            target.publish(ChangeType.CREATED, createdIds, null, null);
+        }
+        // One event per updated record, with its prior state, so the audit trail records the changed fields
+        updated.forEach(row -> {
+            D after = target.toDto(row.entity);
+            target.publish(ChangeType.UPDATED, List.of(target.id(after)), after, row.before);
+        });
+        return results;
+    }
+
+    private <D> String violations(D dto) {
+        Set<ConstraintViolation<D>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private <D> List<BulkItemResult> write(List<Item<D>> batch, Function<List<Item<D>>, List<BulkItemResult>> writer) {
+        try {
+            return transactionTemplate.execute(status -> writer.apply(batch));
+        } catch (RuntimeException e) {
+            log.debug("Bulk batch of {} failed, retrying items individually", batch.size(), e);
+            List<BulkItemResult> results = new ArrayList<>(batch.size());
+            for (Item<D> item : batch) {
+                try {
+                    results.addAll(transactionTemplate.execute(status -> writer.apply(List.of(item))));
+                } catch (RuntimeException itemError) {
+                    results.add(BulkItemResult.failed(item.index(), rootMessage(itemError)));
+                }
+            }
+            return results;
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
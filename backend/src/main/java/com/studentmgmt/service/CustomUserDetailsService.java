@@ -1,21 +1,45 @@
 package com.studentmgmt.service;
 
+import com.studentmgmt.cache.InvalidationBus;
+import com.studentmgmt.cache.LocalCaches;
+import com.studentmgmt.entity.User;
 import com.studentmgmt.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final ReadOnlyTransactions readOnly;
+    private final LocalCaches caches;
+    private final InvalidationBus invalidationBus;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+        User user = caches.users().get(email, () -> readOnly.execute(() -> userRepository.findByEmail(email).orElse(null)));
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found: " + email);
+        }
+        return user;
+    }
+
+    /** Stores a re-hashed password after a login that used an outdated hash. */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User stored = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + user.getUsername()));
+        stored.setPassword(newPassword);
+        invalidationBus.invalidate(LocalCaches.USERS, List.of(stored.getEmail()));
+        return userRepository.save(stored);
     }
 }
@@ -71,7 +71,7 @@ public class EmailService {
         List<String> errors = new java.util.ArrayList<>();
 
         for (StudentDto student : students) {
-            if (!student.isActive()) {
+            if (Boolean.FALSE.equals(student.getActive())) {
                 errors.add(student.getEmail() + ": student is inactive");
                 failed++;
                 continue;
@@ -0,0 +1,31 @@
+package com.studentmgmt.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validates a client-supplied {@code fields=} list against the attributes a
+ * list endpoint is willing to expose. The id is always selected so rows stay
+ * addressable.
+ */
+final class FieldSelection {
+
+    private FieldSelection() {
+    }
+
+    static List<String> resolve(List<String> requested, Set<String> allowed) {
+        Set<String> fields = new LinkedHashSet<>();
+        fields.add("id");
+        for (String field : requested) {
+            String name = field.trim();
+            if (name.isEmpty()) continue;
+            if (!allowed.contains(name)) {
+                throw new RuntimeException("Unknown field: " + name);
+            }
+            fields.add(name);
+        }
+        return new ArrayList<>(fields);
+    }
+}
@@ -0,0 +1,103 @@
+package com.studentmgmt.service;
+
+import com.studentmgmt.dto.BatchGetResult;
+import com.studentmgmt.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Loads rows for a large id list in padded IN batches (see {@link IdBatches}),
+ * each in its own read-only transaction. Batches run one after another, or on
+ * a small shared pool when the caller asks for parallel loading; the pool size
+ * caps how many connections one multi-get can take.
+ */
+@Component
+public class IdBatchLoader {
+
+    private final ReadOnlyTransactions readOnly;
+    private final int chunkSize;
+    private final int maxIds;
+    private final ExecutorService executor;
+
+    public IdBatchLoader(ReadOnlyTransactions readOnly,
+                         @Value("${batch-get.chunk-size:500}") int chunkSize,
+                         @Value("${batch-get.max-ids:10000}") int maxIds,
+                         @Value("${batch-get.parallelism:4}") int parallelism) {
+        this.readOnly = readOnly;
+        this.chunkSize = chunkSize;
+        this.maxIds = maxIds;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "batch-get-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <T> List<T> load(Collection<Long> ids, Function<List<Long>, List<T>> query, boolean parallel) {
+        if (ids.size() > maxIds) {
+            throw new RuntimeException("At most " + maxIds + " ids per request");
+        }
+        List<List<Long>> batches = IdBatches.split(ids, chunkSize);
+        List<T> rows = new ArrayList<>(ids.size());
+        if (!parallel || batches.size() < 2) {
+            batches.forEach(batch -> rows.addAll(readOnly.execute(() -> query.apply(batch))));
+            return rows;
+        }
+
+        List<CompletableFuture<List<T>>> futures = batches.stream()
+                .map(batch -> CompletableFuture.supplyAsync(
+                        TenantContext.wrap(() -> readOnly.execute(() -> query.apply(batch))), executor))
+                .toList();
+        try {
+            futures.forEach(future -> rows.addAll(future.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return rows;
+    }
+
+    /**
+     * Multi-get on top of {@link #load}: results follow the request order with
+     * duplicates collapsed, and unknown ids are listed as missing.
+     */
+    public <E, D> BatchGetResult<D> getBatch(List<Long> ids, Function<List<Long>, List<E>> query,
+                                             Function<E, Long> idOf, Function<E, D> toDto, boolean parallel) {
+        Map<Long, D> byId = new HashMap<>();
+        load(ids, query, parallel).forEach(row -> byId.put(idOf.apply(row), toDto.apply(row)));
+
+        List<D> found = new ArrayList<>(byId.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            D dto = byId.get(id);
+            if (dto != null) {
+                found.add(dto);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchGetResult<>(found, missing);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,42 @@
+package com.studentmgmt.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Splits id lists into IN-clause batches of at most {@code chunkSize}. Each
+ * batch is padded (by repeating its last id) up to the next power of two, or
+ * to {@code chunkSize}, so the database only ever sees a handful of distinct
+ * statement shapes and can reuse their plans.
+ */
+final class IdBatches {
+
+    private IdBatches() {
+    }
+
+    static List<List<Long>> split(Collection<Long> ids, int chunkSize) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<Long>> batches = new ArrayList<>((distinct.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<Long> batch = new ArrayList<>(distinct.subList(from, Math.min(from + chunkSize, distinct.size())));
+            pad(batch, chunkSize);
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    static int paddedSize(int size, int chunkSize) {
+        int padded = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+        return size <= 1 ? 1 : Math.min(padded, chunkSize);
+    }
+
+    private static void pad(List<Long> batch, int chunkSize) {
+        int target = paddedSize(batch.size(), chunkSize);
+        Long last = batch.get(batch.size() - 1);
+        while (batch.size() < target) {
+            batch.add(last);
+        }
+    }
+}
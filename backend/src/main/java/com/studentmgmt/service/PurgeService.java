@@ -0,0 +1,120 @@
+package com.studentmgmt.service;
+
+import com.studentmgmt.job.Job;
+import com.studentmgmt.job.JobHandler;
+import com.studentmgmt.job.JobQueue;
+import com.studentmgmt.repository.StaffRepository;
+import com.studentmgmt.repository.StudentRepository;
+import com.studentmgmt.repository.TombstoneRepository;
+import com.studentmgmt.tenant.TenantRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Off-peak cleanup of soft-deleted rows. Each batch is its own short
+ * transaction and batches are spaced out, so a large purge never holds many
+ * row locks at once. Stops when the configured window is used up and picks up
+ * the remainder on the next run.
+ *
+ * <p>The cron fires on every replica but only queues one {@code purge} job
+ * per schema and day (see {@link JobQueue#enqueueOnce}); in multi-tenant mode
+ * the schemas are purged in parallel on whichever replicas claim them, each
+ * with its own window.
+ */
+@Service
+@Slf4j
+public class PurgeService implements JobHandler {
+
+    static final String JOB_TYPE = "purge";
+
+    private final StudentRepository studentRepository;
+    private final StaffRepository staffRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final TenantRegistry tenantRegistry;
+    private final JobQueue jobQueue;
+    private final Duration retention;
+    private final Duration tombstoneRetention;
+    private final int batchSize;
+    private final Duration pause;
+    private final Duration window;
+
+    public PurgeService(StudentRepository studentRepository,
+                        StaffRepository staffRepository,
+                        TombstoneRepository tombstoneRepository,
+                        TenantRegistry tenantRegistry,
+                        JobQueue jobQueue,
+                        @Value("${purge.retention:7d}") Duration retention,
+                        @Value("${purge.tombstone-retention:90d}") Duration tombstoneRetention,
+                        @Value("${purge.batch-size:500}") int batchSize,
+                        @Value("${purge.pause:200ms}") Duration pause,
+                        @Value("${purge.window:1h}") Duration window) {
+        this.studentRepository = studentRepository;
+        this.staffRepository = staffRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.tenantRegistry = tenantRegistry;
+        this.jobQueue = jobQueue;
+        this.retention = retention;
+        this.tombstoneRetention = tombstoneRetention;
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.window = window;
+    }
+
+    @Scheduled(cron = "${purge.cron:0 0 2 * * *}")
+    public void schedule() {
+        List<String> tenants = new ArrayList<>();
+        tenants.add(null);
+        tenants.addAll(tenantRegistry.tenants());
+        String day = LocalDate.now().toString();
+        for (String tenant : tenants) {
+            jobQueue.enqueueOnce(JOB_TYPE, JOB_TYPE + ":" + day + ":" + TenantRegistry.schema(tenant), null, tenant);
+        }
+    }
+
+    @Override
+    public String type() {
+        return JOB_TYPE;
+    }
+
+    /** Purges the job's schema; the worker has already switched to its tenant. */
+    @Override
+    public void run(Job job) {
+        purgeSchema(TenantRegistry.schema(job.tenant()), System.nanoTime() + window.toNanos());
+    }
+
+    private void purgeSchema(String schema, long deadline) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int students = drain("students", studentRepository::purgeDeleted, cutoff, deadline);
+        int staff = drain("staff", staffRepository::purgeDeleted, cutoff, deadline);
+        int tombstones = drain("tombstones", tombstoneRepository::purgeOlderThan,
+                LocalDateTime.now().minus(tombstoneRetention), deadline);
+        log.info("Purge of {} finished: {} students, {} staff, {} tombstones removed", schema, students, staff, tombstones);
+    }
+
+    private int drain(String table, BiFunction<LocalDateTime, Integer, Integer> batch,
+                      LocalDateTime cutoff, long deadline) {
+        int total = 0;
+        while (System.nanoTime() < deadline) {
+            int removed = batch.apply(cutoff, batchSize);
+            total += removed;
+            if (removed < batchSize) break;
+            try {
+                Thread.sleep(pause.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Purge of {} interrupted after {} rows", table, total);
+                break;
+            }
+        }
+        return total;
+    }
+}
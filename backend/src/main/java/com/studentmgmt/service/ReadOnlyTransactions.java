@@ -0,0 +1,38 @@
+package com.studentmgmt.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a block in a read-only transaction. Used where the transaction must
+ * only start after some non-transactional step, such as joining a
+ * {@link SingleFlight}, so callers that end up waiting hold no connection.
+ */
+@Component
+public class ReadOnlyTransactions {
+
+    private final TransactionTemplate template;
+    private final TransactionTemplate primary;
+
+    public ReadOnlyTransactions(PlatformTransactionManager transactionManager) {
+        this.template = new TransactionTemplate(transactionManager);
+        this.template.setReadOnly(true);
+        this.primary = new TransactionTemplate(transactionManager);
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        return template.execute(status -> work.get());
+    }
+
+    /**
+     * As {@link #execute(Supplier)}, but always on the primary even when a
+     * read replica is configured. For reads whose result outlives the
+     * request, such as cache fills, which must not pick up replica lag.
+     */
+    public <T> T executeOnPrimary(Supplier<T> work) {
+        return primary.execute(status -> work.get());
+    }
+}
@@ -0,0 +1,61 @@
+package com.studentmgmt.service;
+
+import com.studentmgmt.tenant.TenantContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key: the first caller runs the
+ * loader, callers arriving while it is in flight wait for and share its
+ * result (or exception). Nothing is cached once the call completes. Keys are
+ * partitioned by {@link TenantContext}, so schools never share a result.
+ * The list and stats endpoints use it so that a whole school opening the
+ * dashboard at once runs one query rather than one per request.
+ */
+class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<TenantKey<K>, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private record TenantKey<K>(String tenant, K key) {
+    }
+
+    V execute(K key, Supplier<V> loader) {
+        TenantKey<K> tenantKey = new TenantKey<>(TenantContext.get(), key);
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(tenantKey, mine);
+        if (leader != null) {
+            return await(leader);
+        }
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(tenantKey, mine);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+}
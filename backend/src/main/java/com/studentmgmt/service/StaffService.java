@@ -1,23 +1,66 @@
 package com.studentmgmt.service;
 
+import com.studentmgmt.cache.LocalCaches;
+import com.studentmgmt.dto.BatchGetResult;
+import com.studentmgmt.dto.BulkUpsertResult;
+import com.studentmgmt.dto.ChangeSet;
 import com.studentmgmt.dto.StaffDto;
 import com.studentmgmt.entity.Staff;
+import com.studentmgmt.event.ChangeType;
+import com.studentmgmt.event.EntityChangedEvent;
+import com.studentmgmt.event.EntityType;
+import com.studentmgmt.exception.StaleVersionException;
 import com.studentmgmt.repository.StaffRepository;
+import com.studentmgmt.repository.StaffSpecifications;
+import com.studentmgmt.repository.TombstoneRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class StaffService {
 
+    private static final int MAX_CHANGES_PAGE = 5000;
+
+    private static final Set<String> LIST_FIELDS = Set.of(
+            "id", "version", "firstName", "lastName", "email", "phone", "department",
+            "position", "joinDate", "active", "salary", "qualification", "address");
+
     private final StaffRepository staffRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReadOnlyTransactions readOnly;
+    private final IdBatchLoader idBatchLoader;
+    private final BulkUpserter bulkUpserter;
+    private final LocalCaches caches;
+    private final SyncHorizon syncHorizon;
+
+    private final SingleFlight<ListKey, Page<StaffDto>> listFlight = new SingleFlight<>();
+    private final SingleFlight<ListKey, Page<Map<String, Object>>> projectedFlight = new SingleFlight<>();
+
+    private record ListKey(String search, Boolean active, List<String> fields, Pageable pageable) {
+    }
 
     public Page<StaffDto> getAll(String search, Boolean active, Pageable pageable) {
+        return listFlight.execute(new ListKey(search, active, null, pageable),
+                () -> readOnly.execute(() -> findAll(search, active, pageable)));
+    }
+
+    private Page<StaffDto> findAll(String search, Boolean active, Pageable pageable) {
         Page<Staff> page;
         boolean hasSearch = search != null && !search.isBlank();
 
@@ -33,51 +76,199 @@ public class StaffService {
         return page.map(this::toDto);
     }
 
-    public StaffDto toggleActive(Long id) {
-        Staff staff = staffRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Staff not found with id: " + id));
-        staff.setActive(!staff.isActive());
-        return toDto(staffRepository.save(staff));
+    public Page<Map<String, Object>> getAll(String search, Boolean active, List<String> fields, Pageable pageable) {
+        List<String> selected = FieldSelection.resolve(fields, LIST_FIELDS);
+        return projectedFlight.execute(new ListKey(search, active, selected, pageable),
+                () -> readOnly.execute(() -> staffRepository.findProjected(StaffSpecifications.matching(search, active), selected, pageable)));
     }
 
+    /** With {@code includeArchived}, an archived record is first moved back, so toggling reactivates it. */
+    @Transactional
+    public StaffDto toggleActive(Long id, Long expectedVersion, boolean includeArchived) {
+        if (includeArchived) {
+            restoreArchived(id);
+        }
+        if (staffRepository.toggleActive(id, expectedVersion) == 0) {
+            if (!staffRepository.existsById(id)) {
+                throw new RuntimeException("Staff not found with id: " + id);
+            }
+            throw new StaleVersionException("Staff", id, expectedVersion);
+        }
+        Staff staff = staffRepository.findById(id).orElseThrow();
+        StaffDto toggled = toDto(staff);
+        // A toggle only flips active and bumps the version, so the prior state follows from the new one.
+        StaffDto before = toDto(staff);
+        before.setActive(!toggled.getActive());
+        before.setVersion(toggled.getVersion() - 1);
+        publish(ChangeType.UPDATED, List.of(id), toggled, before);
+        return toggled;
+    }
+
+    /** Moves an archived record back, unless its email now belongs to a live record. */
+    private void restoreArchived(Long id) {
+        Optional<String> email = staffRepository.findArchivedEmail(id);
+        if (email.isEmpty()) {
+            return;
+        }
+        if (staffRepository.existsByEmail(email.get())) {
+            throw new RuntimeException("Cannot restore staff " + id + ": email " + email.get()
+                    + " is now used by another staff");
+        }
+        staffRepository.restoreArchived(id);
+    }
+
+    /** Served from the local cache when possible; see {@link com.studentmgmt.cache.InvalidationBus}. */
     public StaffDto getById(Long id) {
+        if (!caches.staff().isActive()) {
+            return readOnly.execute(() -> load(id));
+        }
+        // Filled from the primary: a row read from a lagging replica would stay cached for the whole TTL
+        return caches.staff().get(LocalCaches.tenantKey(id), () -> readOnly.executeOnPrimary(() -> load(id)));
+    }
+
+    /** As {@link #getById(Long)}, but also finds records moved to the archive (never cached). */
+    public StaffDto getById(Long id, boolean includeArchived) {
+        if (includeArchived) {
+            Optional<StaffDto> archived = readOnly.execute(() -> staffRepository.findArchivedById(id).map(this::toDto));
+            if (archived.isPresent()) {
+                return archived.get();
+            }
+        }
+        return getById(id);
+    }
+
+    private StaffDto load(Long id) {
         return toDto(staffRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Staff not found with id: " + id)));
     }
 
     public StaffDto create(StaffDto dto) {
         Staff staff = toEntity(dto);
-        return toDto(staffRepository.save(staff));
+        StaffDto created = toDto(staffRepository.save(staff));
+        publish(ChangeType.CREATED, List.of(created.getId()), created);
+        return created;
     }
 
-    public StaffDto update(Long id, StaffDto dto) {
+    @Transactional
+    public StaffDto update(Long id, StaffDto dto, Long expectedVersion) {
         Staff staff = staffRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Staff not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(staff.getVersion())) {
+            throw new StaleVersionException("Staff", id, expectedVersion);
+        }
+        StaffDto before = toDto(staff);
 
-        staff.setFirstName(dto.getFirstName());
-        staff.setLastName(dto.getLastName());
-        staff.setEmail(dto.getEmail());
-        staff.setPhone(dto.getPhone());
-        staff.setDepartment(dto.getDepartment());
-        staff.setPosition(dto.getPosition());
-        staff.setJoinDate(dto.getJoinDate());
-        staff.setSalary(dto.getSalary());
-        staff.setQualification(dto.getQualification());
-        staff.setAddress(dto.getAddress());
+        copyFields(dto, staff);
+
+        StaffDto updated = toDto(staffRepository.saveAndFlush(staff));
+        publish(ChangeType.UPDATED, List.of(id), updated, before);
+        return updated;
+    }
+
+    /**
+     * Creates or updates records from a JSON array or NDJSON body. Elements
+     * with an id update that record; elements without one update the live
+     * record with the same email, or create a new one. {@code active} is only
+     * changed when an element sets it.
+     */
+    public BulkUpsertResult bulkUpsert(InputStream body) throws IOException {
+        return bulkUpserter.run(body, StaffDto.class, new UpsertTarget());
+    }
+
+    /** Maps bulk upsert elements onto staff records for {@link BulkUpserter}. */
+    private final class UpsertTarget implements BulkUpserter.Target<StaffDto, Staff> {
+
+        @Override
+        public String name() {
+            return "Staff";
+        }
+
+        @Override
+        public Long id(StaffDto dto) {
+            return dto.getId();
+        }
 
-        return toDto(staffRepository.save(staff));
+        @Override
+        public Long version(StaffDto dto) {
+            return dto.getVersion();
+        }
+
+        @Override
+        public String email(StaffDto dto) {
+            return dto.getEmail();
+        }
+
+        @Override
+        public List<Staff> findAllByIdIn(List<Long> ids) {
+            return staffRepository.findAllByIdIn(ids);
+        }
+
+        @Override
+        public List<Staff> findAllByEmailIn(Collection<String> emails) {
+            return staffRepository.findAllByEmailIn(emails);
+        }
+
+        @Override
+        public Staff toEntity(StaffDto dto) {
+            return StaffService.this.toEntity(dto);
+        }
+
+        @Override
+        public void apply(StaffDto dto, Staff staff) {
+            copyFields(dto, staff);
+            if (dto.getActive() != null) {
+                staff.setActive(dto.getActive());
+            }
+        }
+
+        @Override
+        public void saveAllAndFlush(List<Staff> entities) {
+            staffRepository.saveAll(entities);
+            staffRepository.flush();
+        }
+
+        @Override
+        public StaffDto toDto(Staff staff) {
+            return StaffService.this.toDto(staff);
+        }
+
+        @Override
+        public void publish(ChangeType type, List<Long> ids, StaffDto data, StaffDto before) {
+            StaffService.this.publish(type, ids, data, before);
+        }
     }
 
+    @Transactional
     public void delete(Long id) {
-        if (!staffRepository.existsById(id)) {
+        List<Staff> deleted = softDeleteLive(List.of(id));
+        if (deleted.isEmpty()) {
             throw new RuntimeException("Staff not found with id: " + id);
         }
-        staffRepository.deleteById(id);
+        publish(ChangeType.DELETED, List.of(id), null, toDto(deleted.get(0)));
     }
 
+    /** Soft-deletes the live rows among {@code ids}; returns how many were deleted. */
     @Transactional
-    public void bulkDelete(List<Long> ids) {
-        staffRepository.deleteAllByIdInBatch(ids);
+    public int bulkDelete(List<Long> ids) {
+        List<Long> deleted = softDeleteLive(ids).stream().map(Staff::getId).toList();
+        if (!deleted.isEmpty()) {
+            publish(ChangeType.DELETED, deleted, null);
+        }
+        return deleted.size();
+    }
+
+    /**
+     * Soft-deletes the rows among {@code ids} that are still live and tombstones only
+     * those, so repeated or unknown ids leave no trace. Returns the rows as they were.
+     */
+    private List<Staff> softDeleteLive(Collection<Long> ids) {
+        List<Staff> live = staffRepository.lockLive(ids);
+        if (!live.isEmpty()) {
+            List<Long> liveIds = live.stream().map(Staff::getId).toList();
+            staffRepository.softDelete(liveIds);
+            staffRepository.insertTombstones(liveIds);
+        }
+        return live;
     }
 
     @Transactional
@@ -85,11 +276,75 @@ public class StaffService {
         List<Staff> staffList = staffRepository.findAllByIdIn(ids);
         staffList.forEach(s -> s.setActive(active));
         staffRepository.saveAll(staffList);
+        publish(active ? ChangeType.ACTIVATED : ChangeType.DEACTIVATED,
+                staffList.stream().map(Staff::getId).toList(), null);
+    }
+
+    /**
+     * Multi-get for up to {@code batch-get.max-ids} ids, loaded in padded IN
+     * batches. Results follow the request order; unknown ids are listed as missing.
+     */
+    public BatchGetResult<StaffDto> getBatch(List<Long> ids, boolean parallel) {
+        return idBatchLoader.getBatch(ids, staffRepository::findAllByIdIn, Staff::getId, this::toDto, parallel);
+    }
+
+    /**
+     * Rows changed after the (since, afterId) watermark plus ids deleted in the
+     * same time window, both cut off at the {@link SyncHorizon}. Fetches one
+     * extra row to know whether more pages follow.
+     */
+    @Transactional(readOnly = true)
+    public ChangeSet<StaffDto> getChanges(LocalDateTime since, long afterId, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_CHANGES_PAGE);
+        LocalDateTime until = syncHorizon.current();
+        List<Staff> rows = staffRepository.findChangedSince(since, afterId, until, PageRequest.ofSize(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<Staff> changed = hasMore ? rows.subList(0, pageSize) : rows;
+
+        // A full page stops at its last row; otherwise the client has everything up to the horizon,
+        // including tombstones, and resumes from there.
+        LocalDateTime nextSince;
+        long nextAfterId;
+        if (hasMore) {
+            Staff last = changed.get(changed.size() - 1);
+            nextSince = last.getUpdatedAt();
+            nextAfterId = last.getId();
+        } else if (until.isAfter(since)) {
+            nextSince = until;
+            nextAfterId = 0;
+        } else {
+            nextSince = since;
+            nextAfterId = afterId;
+        }
+        List<Long> deleted = tombstoneRepository.findDeletedIds(EntityType.STAFF, since, hasMore ? nextSince : until);
+        return new ChangeSet<>(changed.stream().map(this::toDto).toList(), deleted, nextSince, nextAfterId, hasMore);
+    }
+
+    private void publish(ChangeType type, List<Long> ids, Object data) {
+        publish(type, ids, data, null);
+    }
+
+    private void publish(ChangeType type, List<Long> ids, Object data, Object before) {
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.STAFF, type, ids, data, before));
+    }
+
+    private void copyFields(StaffDto dto, Staff staff) {
+        staff.setFirstName(dto.getFirstName());
+        staff.setLastName(dto.getLastName());
+        staff.setEmail(dto.getEmail());
+        staff.setPhone(dto.getPhone());
+        staff.setDepartment(dto.getDepartment());
+        staff.setPosition(dto.getPosition());
+        staff.setJoinDate(dto.getJoinDate());
+        staff.setSalary(dto.getSalary());
+        staff.setQualification(dto.getQualification());
+        staff.setAddress(dto.getAddress());
     }
 
     private StaffDto toDto(Staff staff) {
         StaffDto dto = new StaffDto();
         dto.setId(staff.getId());
+        dto.setVersion(staff.getVersion());
         dto.setFirstName(staff.getFirstName());
         dto.setLastName(staff.getLastName());
         dto.setEmail(staff.getEmail());
@@ -113,7 +368,7 @@ public class StaffService {
                 .department(dto.getDepartment())
                 .position(dto.getPosition())
                 .joinDate(dto.getJoinDate())
-                .active(dto.isActive())
+                .active(!Boolean.FALSE.equals(dto.getActive()))
                 .salary(dto.getSalary())
                 .qualification(dto.getQualification())
                 .address(dto.getAddress())
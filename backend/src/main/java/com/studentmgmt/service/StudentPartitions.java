@@ -0,0 +1,58 @@
+package com.studentmgmt.service;
+
+import com.studentmgmt.job.Job;
+import com.studentmgmt.job.JobHandler;
+import com.studentmgmt.job.JobQueue;
+import com.studentmgmt.tenant.TenantRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the yearly {@code students} partitions (see V9__students_partitioned.sql)
+ * for this year and the next in every schema. Rows that landed in
+ * {@code students_default} before their year's partition existed (enrollment
+ * dates further ahead) are moved into it as it is created (V14). Runs as a
+ * daily job on one replica.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StudentPartitions implements JobHandler {
+
+    static final String JOB_TYPE = "student-partitions";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantRegistry tenantRegistry;
+    private final JobQueue jobQueue;
+
+    @Scheduled(cron = "${students.partition-cron:0 15 1 * * *}")
+    public void schedule() {
+        jobQueue.enqueueOnce(JOB_TYPE, JOB_TYPE + ":" + LocalDate.now(), null, null);
+    }
+
+    @Override
+    public String type() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public void run(Job job) {
+        List<String> schemas = new ArrayList<>();
+        schemas.add(TenantRegistry.DEFAULT_SCHEMA);
+        schemas.addAll(tenantRegistry.tenants());
+        int year = LocalDate.now().getYear();
+        for (String schema : schemas) {
+            for (int y = year; y <= year + 1; y++) {
+                jdbcTemplate.queryForList("SELECT public.ensure_student_partition(?, ?)", schema, y);
+            }
+        }
+        log.info("Student partitions up to {} present in {} schemas", year + 1, schemas.size());
+    }
+}
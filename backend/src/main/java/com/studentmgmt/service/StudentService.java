@@ -1,36 +1,83 @@
 package com.studentmgmt.service;
 
+import com.studentmgmt.cache.LocalCaches;
+import com.studentmgmt.dto.BatchGetResult;
+import com.studentmgmt.dto.BulkUpsertResult;
+import com.studentmgmt.dto.ChangeSet;
+import com.studentmgmt.dto.EnrollmentRange;
 import com.studentmgmt.dto.StudentDto;
 import com.studentmgmt.entity.Student;
+import com.studentmgmt.event.ChangeType;
+import com.studentmgmt.event.EntityChangedEvent;
+import com.studentmgmt.event.EntityType;
+import com.studentmgmt.exception.StaleVersionException;
 import com.studentmgmt.repository.StudentRepository;
+import com.studentmgmt.repository.StudentSpecifications;
+import com.studentmgmt.repository.TombstoneRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class StudentService {
 
+    private static final int MAX_CHANGES_PAGE = 5000;
+
+    private static final Set<String> LIST_FIELDS = Set.of(
+            "id", "version", "firstName", "lastName", "email", "phone",
+            "studentClass", "section", "enrollmentDate", "active");
+
     private final StudentRepository studentRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReadOnlyTransactions readOnly;
+    private final IdBatchLoader idBatchLoader;
+    private final BulkUpserter bulkUpserter;
+    private final LocalCaches caches;
+    private final SyncHorizon syncHorizon;
+
+    private final SingleFlight<ListKey, Page<StudentDto>> listFlight = new SingleFlight<>();
+    private final SingleFlight<ListKey, Page<Map<String, Object>>> projectedFlight = new SingleFlight<>();
+    private final SingleFlight<String, Map<String, Long>> statsFlight = new SingleFlight<>();
+
+    private record ListKey(String search, Boolean active, EnrollmentRange enrolled, List<String> fields,
+                           Pageable pageable) {
+    }
+
+    /** {@code enrolled} may be null; with a range only the partitions of those years are read. */
+    public Page<StudentDto> getAll(String search, Boolean active, EnrollmentRange enrolled, Pageable pageable) {
+        return listFlight.execute(new ListKey(search, active, enrolled, null, pageable),
+                () -> readOnly.execute(() -> findAll(search, active, enrolled, pageable)));
+    }
 
-    public Page<StudentDto> getAll(String search, Boolean active, Pageable pageable) {
+    private Page<StudentDto> findAll(String search, Boolean active, EnrollmentRange enrolled, Pageable pageable) {
         Page<Student> page;
         boolean hasSearch = search != null && !search.isBlank();
 
-        if (hasSearch && active != null) {
+        if (enrolled != null) {
+            page = studentRepository.findAll(StudentSpecifications.matching(search, active, enrolled), pageable);
+        } else if (hasSearch && active != null) {
             page = studentRepository.searchByActive(search, active, pageable);
         } else if (hasSearch) {
             page = studentRepository.search(search, pageable);
@@ -42,48 +89,201 @@ public class StudentService {
         return page.map(this::toDto);
     }
 
-    public StudentDto toggleActive(Long id) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
-        student.setActive(!student.isActive());
-        return toDto(studentRepository.save(student));
+    public Page<Map<String, Object>> getAll(String search, Boolean active, EnrollmentRange enrolled,
+                                            List<String> fields, Pageable pageable) {
+        List<String> selected = FieldSelection.resolve(fields, LIST_FIELDS);
+        return projectedFlight.execute(new ListKey(search, active, enrolled, selected, pageable),
+                () -> readOnly.execute(() -> studentRepository.findProjected(
+                        StudentSpecifications.matching(search, active, enrolled), selected, pageable)));
     }
 
+    /** With {@code includeArchived}, an archived record is first moved back, so toggling reactivates it. */
+    @Transactional
+    public StudentDto toggleActive(Long id, Long expectedVersion, boolean includeArchived) {
+        if (includeArchived) {
+            restoreArchived(id);
+        }
+        if (studentRepository.toggleActive(id, expectedVersion) == 0) {
+            if (!studentRepository.existsById(id)) {
+                throw new RuntimeException("Student not found with id: " + id);
+            }
+            throw new StaleVersionException("Student", id, expectedVersion);
+        }
+        Student student = studentRepository.findById(id).orElseThrow();
+        StudentDto toggled = toDto(student);
+        // A toggle only flips active and bumps the version, so the prior state follows from the new one.
+        StudentDto before = toDto(student);
+        before.setActive(!toggled.getActive());
+        before.setVersion(toggled.getVersion() - 1);
+        publish(ChangeType.UPDATED, List.of(id), toggled, before);
+        return toggled;
+    }
+
+    /** Moves an archived record back, unless its email now belongs to a live record. */
+    private void restoreArchived(Long id) {
+        Optional<String> email = studentRepository.findArchivedEmail(id);
+        if (email.isEmpty()) {
+            return;
+        }
+        if (studentRepository.existsByEmail(email.get())) {
+            throw new RuntimeException("Cannot restore student " + id + ": email " + email.get()
+                    + " is now used by another student");
+        }
+        studentRepository.restoreArchived(id);
+    }
+
+    /** Served from the local cache when possible; see {@link com.studentmgmt.cache.InvalidationBus}. */
     public StudentDto getById(Long id) {
+        if (!caches.students().isActive()) {
+            return readOnly.execute(() -> load(id));
+        }
+        // Filled from the primary: a row read from a lagging replica would stay cached for the whole TTL
+        return caches.students().get(LocalCaches.tenantKey(id), () -> readOnly.executeOnPrimary(() -> load(id)));
+    }
+
+    /** As {@link #getById(Long)}, but also finds records moved to the archive (never cached). */
+    public StudentDto getById(Long id, boolean includeArchived) {
+        if (includeArchived) {
+            Optional<StudentDto> archived = readOnly.execute(() -> studentRepository.findArchivedById(id).map(this::toDto));
+            if (archived.isPresent()) {
+                return archived.get();
+            }
+        }
+        return getById(id);
+    }
+
+    private StudentDto load(Long id) {
         return toDto(studentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Student not found with id: " + id)));
     }
 
     public StudentDto create(StudentDto dto) {
         Student student = toEntity(dto);
-        return toDto(studentRepository.save(student));
+        StudentDto created = toDto(studentRepository.save(student));
+        publish(ChangeType.CREATED, List.of(created.getId()), created);
+        return created;
     }
 
-    public StudentDto update(Long id, StudentDto dto) {
+    @Transactional
+    public StudentDto update(Long id, StudentDto dto, Long expectedVersion) {
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(student.getVersion())) {
+            throw new StaleVersionException("Student", id, expectedVersion);
+        }
+        StudentDto before = toDto(student);
 
-        student.setFirstName(dto.getFirstName());
-        student.setLastName(dto.getLastName());
-        student.setEmail(dto.getEmail());
-        student.setPhone(dto.getPhone());
-        student.setStudentClass(dto.getStudentClass());
-        student.setSection(dto.getSection());
-        student.setEnrollmentDate(dto.getEnrollmentDate());
+        copyFields(dto, student);
+
+        StudentDto updated = toDto(studentRepository.saveAndFlush(student));
+        publish(ChangeType.UPDATED, List.of(id), updated, before);
+        return updated;
+    }
+
+    /**
+     * Creates or updates records from a JSON array or NDJSON body. Elements
+     * with an id update that record; elements without one update the live
+     * record with the same email, or create a new one. {@code active} is only
+     * changed when an element sets it.
+     */
+    public BulkUpsertResult bulkUpsert(InputStream body) throws IOException {
+        return bulkUpserter.run(body, StudentDto.class, new UpsertTarget());
+    }
+
+    /** Maps bulk upsert elements onto student records for {@link BulkUpserter}. */
+    private final class UpsertTarget implements BulkUpserter.Target<StudentDto, Student> {
+
+        @Override
+        public String name() {
+            return "Student";
+        }
+
+        @Override
+        public Long id(StudentDto dto) {
+            return dto.getId();
+        }
+
+        @Override
+        public Long version(StudentDto dto) {
+            return dto.getVersion();
+        }
+
+        @Override
+        public String email(StudentDto dto) {
+            return dto.getEmail();
+        }
+
+        @Override
+        public List<Student> findAllByIdIn(List<Long> ids) {
+            return studentRepository.findAllByIdIn(ids);
+        }
+
+        @Override
+        public List<Student> findAllByEmailIn(Collection<String> emails) {
+            return studentRepository.findAllByEmailIn(emails);
+        }
+
+        @Override
+        public Student toEntity(StudentDto dto) {
+            return StudentService.this.toEntity(dto);
+        }
+
+        @Override
+        public void apply(StudentDto dto, Student student) {
+            copyFields(dto, student);
+            if (dto.getActive() != null) {
+                student.setActive(dto.getActive());
+            }
+        }
+
+        @Override
+        public void saveAllAndFlush(List<Student> entities) {
+            studentRepository.saveAll(entities);
+            studentRepository.flush();
+        }
 
-        return toDto(studentRepository.save(student));
+        @Override
+        public StudentDto toDto(Student student) {
+            return StudentService.this.toDto(student);
+        }
+
+        @Override
+        public void publish(ChangeType type, List<Long> ids, StudentDto data, StudentDto before) {
+            StudentService.this.publish(type, ids, data, before);
+        }
     }
 
+    @Transactional
     public void delete(Long id) {
-        if (!studentRepository.existsById(id)) {
+        List<Student> deleted = softDeleteLive(List.of(id));
+        if (deleted.isEmpty()) {
             throw new RuntimeException("Student not found with id: " + id);
         }
-        studentRepository.deleteById(id);
+        publish(ChangeType.DELETED, List.of(id), null, toDto(deleted.get(0)));
     }
 
+    /** Soft-deletes the live rows among {@code ids}; returns how many were deleted. */
     @Transactional
-    public void bulkDelete(List<Long> ids) {
-        studentRepository.deleteAllByIdInBatch(ids);
+    public int bulkDelete(List<Long> ids) {
+        List<Long> deleted = softDeleteLive(ids).stream().map(Student::getId).toList();
+        if (!deleted.isEmpty()) {
+            publish(ChangeType.DELETED, deleted, null);
+        }
+        return deleted.size();
+    }
+
+    /**
+     * Soft-deletes the rows among {@code ids} that are still live and tombstones only
+     * those, so repeated or unknown ids leave no trace. Returns the rows as they were.
+     */
+    private List<Student> softDeleteLive(Collection<Long> ids) {
+        List<Student> live = studentRepository.lockLive(ids);
+        if (!live.isEmpty()) {
+            List<Long> liveIds = live.stream().map(Student::getId).toList();
+            studentRepository.softDelete(liveIds);
+            studentRepository.insertTombstones(liveIds);
+        }
+        return live;
     }
 
     @Transactional
@@ -91,17 +291,79 @@ public class StudentService {
         List<Student> students = studentRepository.findAllByIdIn(ids);
         students.forEach(s -> s.setActive(active));
         studentRepository.saveAll(students);
+        publish(active ? ChangeType.ACTIVATED : ChangeType.DEACTIVATED,
+                students.stream().map(Student::getId).toList(), null);
     }
 
     public List<StudentDto> getByIds(List<Long> ids) {
-        return studentRepository.findAllByIdIn(ids).stream()
-                .map(this::toDto)
-                .toList();
+        return getBatch(ids, false).found();
+    }
+
+    /**
+     * Multi-get for up to {@code batch-get.max-ids} ids, loaded in padded IN
+     * batches. Results follow the request order; unknown ids are listed as missing.
+     */
+    public BatchGetResult<StudentDto> getBatch(List<Long> ids, boolean parallel) {
+        return idBatchLoader.getBatch(ids, studentRepository::findAllByIdIn, Student::getId, this::toDto, parallel);
+    }
+
+    /**
+     * Rows changed after the (since, afterId) watermark plus ids deleted in the
+     * same time window, both cut off at the {@link SyncHorizon}. Fetches one
+     * extra row to know whether more pages follow.
+     */
+    @Transactional(readOnly = true)
+    public ChangeSet<StudentDto> getChanges(LocalDateTime since, long afterId, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_CHANGES_PAGE);
+        LocalDateTime until = syncHorizon.current();
+        List<Student> rows = studentRepository.findChangedSince(since, afterId, until, PageRequest.ofSize(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<Student> changed = hasMore ? rows.subList(0, pageSize) : rows;
+
+        // A full page stops at its last row; otherwise the client has everything up to the horizon,
+        // including tombstones, and resumes from there.
+        LocalDateTime nextSince;
+        long nextAfterId;
+        if (hasMore) {
+            Student last = changed.get(changed.size() - 1);
+            nextSince = last.getUpdatedAt();
+            nextAfterId = last.getId();
+        } else if (until.isAfter(since)) {
+            nextSince = until;
+            nextAfterId = 0;
+        } else {
+            nextSince = since;
+            nextAfterId = afterId;
+        }
+        List<Long> deleted = tombstoneRepository.findDeletedIds(EntityType.STUDENT, since, hasMore ? nextSince : until);
+        return new ChangeSet<>(changed.stream().map(this::toDto).toList(), deleted, nextSince, nextAfterId, hasMore);
+    }
+
+    private void publish(ChangeType type, List<Long> ids, Object data) {
+        publish(type, ids, data, null);
+    }
+
+    private void publish(ChangeType type, List<Long> ids, Object data, Object before) {
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.STUDENT, type, ids, data, before));
+    }
+
+    private void copyFields(StudentDto dto, Student student) {
+        student.setFirstName(dto.getFirstName());
+        student.setLastName(dto.getLastName());
+        student.setEmail(dto.getEmail());
+        student.setPhone(dto.getPhone());
+        student.setStudentClass(dto.getStudentClass());
+        student.setSection(dto.getSection());
+        // Required since students are partitioned by it; an update without one keeps the current date
+        if (dto.getEnrollmentDate() != null) {
+            student.setEnrollmentDate(dto.getEnrollmentDate());
+        }
     }
 
     private StudentDto toDto(Student student) {
         StudentDto dto = new StudentDto();
         dto.setId(student.getId());
+        dto.setVersion(student.getVersion());
         dto.setFirstName(student.getFirstName());
         dto.setLastName(student.getLastName());
         dto.setEmail(student.getEmail());
@@ -114,6 +376,10 @@ public class StudentService {
     }
 
     public Map<String, Long> getStats() {
+        return statsFlight.execute("stats", () -> readOnly.execute(this::countStats));
+    }
+
+    private Map<String, Long> countStats() {
         Map<String, Long> stats = new LinkedHashMap<>();
         stats.put("total", studentRepository.count());
         stats.put("active", studentRepository.countByActive(true));
@@ -121,7 +387,14 @@ public class StudentService {
         return stats;
     }
 
+    @Transactional(readOnly = true)
     public void exportCsv(PrintWriter writer, String search, Boolean active) {
+        exportCsv(writer, search, active, false);
+    }
+
+    /** With {@code includeArchived}, archived (always inactive) students follow the live ones. */
+    @Transactional(readOnly = true)
+    public void exportCsv(PrintWriter writer, String search, Boolean active, boolean includeArchived) {
         List<Student> students;
         if (search != null && !search.isBlank() && active != null) {
             students = studentRepository.searchByActive(search, active, Pageable.unpaged()).getContent();
@@ -132,6 +405,10 @@ public class StudentService {
         } else {
             students = studentRepository.findAll();
         }
+        if (includeArchived && !Boolean.TRUE.equals(active)) {
+            students = new ArrayList<>(students);
+            students.addAll(studentRepository.searchArchived(search == null ? "" : search));
+        }
 
         writer.println("firstName,lastName,email,phone,class,section,enrollmentDate,active");
         for (Student s : students) {
@@ -150,6 +427,7 @@ public class StudentService {
 
     public Map<String, Object> importCsv(InputStream inputStream) {
         List<String> errors = new ArrayList<>();
+        List<Long> importedIds = new ArrayList<>();
         int imported = 0;
         int row = 1;
 
@@ -185,7 +463,7 @@ public class StudentService {
                         errors.add("Row " + row + ": firstName and email are required");
                         continue;
                     }
-                    studentRepository.save(student);
+                    importedIds.add(studentRepository.save(student).getId());
                     imported++;
                 } catch (Exception e) {
                     errors.add("Row " + row + ": " + e.getMessage());
@@ -194,6 +472,9 @@ public class StudentService {
         } catch (Exception e) {
             errors.add("Failed to read CSV: " + e.getMessage());
         }
+        if (!importedIds.isEmpty()) {
+            publish(ChangeType.CREATED, importedIds, null);
+        }
 
         Map<String, Object> result = new LinkedHashMap<>();
         result.put("imported", imported);
@@ -257,7 +538,7 @@ public class StudentService {
                 .studentClass(dto.getStudentClass())
                 .section(dto.getSection())
                 .enrollmentDate(dto.getEnrollmentDate())
-                .active(dto.isActive())
+                .active(!Boolean.FALSE.equals(dto.getActive()))
                 .build();
     }
 }
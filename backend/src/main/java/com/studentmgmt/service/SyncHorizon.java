@@ -0,0 +1,30 @@
+package com.studentmgmt.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Upper bound for incremental sync pages: the database clock minus
+ * {@code sync.safety-lag}. {@code updated_at} is set from the same clock when
+ * a transaction writes, so a row only becomes visible to sync once every
+ * transaction that could still commit an older timestamp has finished.
+ */
+@Component
+public class SyncHorizon {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration safetyLag;
+
+    public SyncHorizon(JdbcTemplate jdbcTemplate, @Value("${sync.safety-lag:10s}") Duration safetyLag) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.safetyLag = safetyLag;
+    }
+
+    public LocalDateTime current() {
+        return jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", LocalDateTime.class).minus(safetyLag);
+    }
+}
@@ -0,0 +1,181 @@
+package com.studentmgmt.service;
+
+import com.studentmgmt.cache.ClusterResyncEvent;
+import com.studentmgmt.cache.InvalidationBus;
+import com.studentmgmt.config.JwtUtil;
+import com.studentmgmt.config.TokenRevocationList;
+import com.studentmgmt.dto.AuthResponse;
+import com.studentmgmt.entity.RefreshToken;
+import com.studentmgmt.entity.User;
+import com.studentmgmt.exception.InvalidTokenException;
+import com.studentmgmt.job.Job;
+import com.studentmgmt.job.JobHandler;
+import com.studentmgmt.job.JobQueue;
+import com.studentmgmt.repository.RefreshTokenRepository;
+import com.studentmgmt.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues access/refresh token pairs, rotates refresh tokens and revokes
+ * sessions. Refresh tokens are random 256-bit values stored only as SHA-256
+ * hashes, so renewing a session never goes through the password encoder.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenService implements JobHandler {
+
+    static final String CLEANUP_JOB = "refresh-token-cleanup";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationList revocationList;
+    private final InvalidationBus invalidationBus;
+    private final JobQueue jobQueue;
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpiration;
+
+    /** A rotated token presented again within this window is rejected but not treated as theft (e.g. two tabs refreshing at once). */
+    @Value("${jwt.refresh-reuse-grace:10s}")
+    private Duration reuseGrace;
+
+    /**
+     * Reloads revocations whose access tokens may still be in use, so a restart
+     * doesn't resurrect them and revocations missed from other replicas are caught up.
+     */
+    @PostConstruct
+    @EventListener(ClusterResyncEvent.class)
+    public void loadRevocations() {
+        refreshTokenRepository.findRevokedWithLiveAccess(LocalDateTime.now())
+                .forEach(token -> revocationList.revoke(token.getAccessJti(), toMillis(token.getAccessExpiresAt())));
+    }
+
+    @Transactional
+    public AuthResponse issue(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        String jti = UUID.randomUUID().toString();
+        LocalDateTime accessExpiresAt = now.plus(Duration.ofMillis(jwtUtil.getExpiration()));
+        String accessToken = jwtUtil.generateToken(user, jti, new Date(toMillis(accessExpiresAt)));
+
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(user.getId())
+                .tokenHash(hash(refreshToken))
+                .accessJti(jti)
+                .accessExpiresAt(accessExpiresAt)
+                .expiresAt(now.plus(Duration.ofMillis(refreshExpiration)))
+                .createdAt(now)
+                .build());
+
+        return new AuthResponse(accessToken, refreshToken, jwtUtil.getExpiration() / 1000,
+                user.getName(), user.getEmail(), user.getRole().name());
+    }
+
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public AuthResponse refresh(String refreshToken) {
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+
+        if (stored.getRevokedAt() != null || stored.getExpiresAt().isBefore(now)) {
+            throw new InvalidTokenException("Refresh token expired or revoked");
+        }
+        if (stored.getRotatedAt() != null) {
+            if (stored.getRotatedAt().plus(reuseGrace).isBefore(now)) {
+                log.warn("Rotated refresh token reused for user {}, revoking all sessions", stored.getUserId());
+                revokeAll(stored.getUserId());
+            }
+            throw new InvalidTokenException("Refresh token already used");
+        }
+
+        User user = userRepository.findById(stored.getUserId())
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+        stored.setRotatedAt(now);
+        return issue(user);
+    }
+
+    /** Revokes the session behind {@code refreshToken} and, if given, the presented access token. */
+    @Transactional
+    public void logout(String refreshToken, String accessJti, Date accessExpiresAt) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken)).ifPresent(this::revoke);
+        if (accessJti != null && accessExpiresAt != null) {
+            revocationList.revoke(accessJti, accessExpiresAt.getTime());
+            invalidationBus.revoked(accessJti, accessExpiresAt.getTime());
+        }
+    }
+
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.findActiveByUserId(userId).forEach(this::revoke);
+    }
+
+    private void revoke(RefreshToken token) {
+        if (token.getRevokedAt() == null) {
+            token.setRevokedAt(LocalDateTime.now());
+            revocationList.revoke(token.getAccessJti(), toMillis(token.getAccessExpiresAt()));
+            invalidationBus.revoked(token.getAccessJti(), toMillis(token.getAccessExpiresAt()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation-sweep:60000}")
+    public void evictExpiredRevocations() {
+        revocationList.evictExpired();
+    }
+
+    /** Queues the cleanup once per day for the whole cluster. */
+    @Scheduled(cron = "${jwt.refresh-cleanup-cron:0 30 3 * * *}")
+    public void scheduleCleanup() {
+        jobQueue.enqueueOnce(CLEANUP_JOB, CLEANUP_JOB + ":" + LocalDate.now(), null, null);
+    }
+
+    @Override
+    public String type() {
+        return CLEANUP_JOB;
+    }
+
+    @Override
+    @Transactional
+    public void run(Job job) {
+        int removed = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("Deleted {} expired refresh tokens", removed);
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,165 @@
+package com.studentmgmt.tenant;
+
+import com.studentmgmt.exception.ServiceBusyException;
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands Hibernate connections from the shared pool with {@code search_path}
+ * set to the tenant's schema (then {@code public}, where users and tokens
+ * live). Each tenant may hold at most {@code tenancy.max-connections-per-tenant}
+ * connections at once, so one busy school queues on its own share instead of
+ * draining the pool for everyone; waiting longer than
+ * {@code tenancy.acquire-timeout} fails with {@link ServiceBusyException}.
+ * <p>
+ * {@code search_path} is only set when the session first uses the connection,
+ * so a lazily fetched connection is not forced open while the transaction is
+ * still being set up, and is reset to {@code public} before the connection
+ * goes back to the pool.
+ */
+public class SchemaPerTenantConnectionProvider implements MultiTenantConnectionProvider<String> {
+
+    private final DataSource dataSource;
+    private final int maxConnectionsPerTenant;
+    private final Duration acquireTimeout;
+    private final ConcurrentHashMap<String, Semaphore> shares = new ConcurrentHashMap<>();
+
+    public SchemaPerTenantConnectionProvider(DataSource dataSource, int maxConnectionsPerTenant, Duration acquireTimeout) {
+        this.dataSource = dataSource;
+        this.maxConnectionsPerTenant = maxConnectionsPerTenant;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getAnyConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    @Override
+    public void releaseAnyConnection(Connection connection) throws SQLException {
+        connection.close();
+    }
+
+    @Override
+    public Connection getConnection(String tenant) throws SQLException {
+        Semaphore share = shares.computeIfAbsent(tenant, t -> new Semaphore(maxConnectionsPerTenant));
+        try {
+            if (!share.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new ServiceBusyException("Too many concurrent requests for this school, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+        try {
+            Connection connection = dataSource.getConnection();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, new SearchPathHandler(connection, tenant));
+        } catch (SQLException | RuntimeException e) {
+            share.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void releaseConnection(String tenant, Connection connection) throws SQLException {
+        SearchPathHandler handler = (SearchPathHandler) Proxy.getInvocationHandler(connection);
+        try {
+            // Pooled connections go back pointing at public
+            if (handler.applied && !TenantRegistry.DEFAULT_SCHEMA.equals(tenant)) {
+                setSearchPath(handler.target, TenantRegistry.DEFAULT_SCHEMA);
+            }
+        } finally {
+            try {
+                handler.target.close();
+            } finally {
+                shares.get(tenant).release();
+            }
+        }
+    }
+
+    /** Connections currently held by a tenant. */
+    public int inUse(String tenant) {
+        Semaphore share = shares.get(tenant);
+        return share == null ? 0 : maxConnectionsPerTenant - share.availablePermits();
+    }
+
+    private static void setSearchPath(Connection connection, String schema) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // schema is a validated identifier (TenantRegistry), never user input
+            statement.execute(TenantRegistry.DEFAULT_SCHEMA.equals(schema)
+                    ? "SET search_path TO public"
+                    : "SET search_path TO " + schema + ", public");
+        }
+    }
+
+    /** Sets {@code search_path} right before the first call that can reach the database. */
+    private static final class SearchPathHandler implements InvocationHandler {
+
+        // Calls a lazy connection proxy answers without fetching the physical connection
+        private static final Set<String> DEFERRED = Set.of(
+                "getAutoCommit", "setAutoCommit", "isReadOnly", "setReadOnly",
+                "getTransactionIsolation", "setTransactionIsolation", "getHoldability", "setHoldability",
+                "commit", "rollback", "getWarnings", "clearWarnings", "isClosed", "close", "toString");
+
+        private final Connection target;
+        private final String schema;
+        private boolean applied;
+
+        SearchPathHandler(Connection target, String schema) {
+            this.target = target;
+            this.schema = schema;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (!applied && !DEFERRED.contains(method.getName())) {
+                setSearchPath(target, schema);
+                applied = true;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isInstance(this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (unwrapType.isInstance(this)) {
+            return (T) this;
+        }
+        throw new IllegalArgumentException("Cannot unwrap to " + unwrapType);
+    }
+}
@@ -0,0 +1,55 @@
+package com.studentmgmt.tenant;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Schema-per-tenant mode, active with {@code tenancy.enabled=true}. Hibernate
+ * resolves the tenant from {@link TenantContext} for every session and gets
+ * its connections from {@link SchemaPerTenantConnectionProvider}; tenant
+ * schemas are created right after the Flyway migration, before JPA starts.
+ * Startup fails if the read replica is enabled as well.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tenancy.enabled", havingValue = "true")
+public class TenancyConfig {
+
+    public TenancyConfig(@Value("${app.datasource.replica.enabled:false}") boolean replicaEnabled) {
+        if (replicaEnabled) {
+            throw new IllegalStateException(
+                    "tenancy.enabled and app.datasource.replica.enabled cannot be used together; disable one of them");
+        }
+    }
+
+    @Bean
+    public SchemaPerTenantConnectionProvider tenantConnectionProvider(
+            DataSource dataSource,
+            @Value("${tenancy.max-connections-per-tenant:4}") int maxConnectionsPerTenant,
+            @Value("${tenancy.acquire-timeout:2s}") Duration acquireTimeout) {
+        return new SchemaPerTenantConnectionProvider(dataSource, maxConnectionsPerTenant, acquireTimeout);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer tenantHibernateProperties(SchemaPerTenantConnectionProvider connectionProvider) {
+        return properties -> {
+            properties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, connectionProvider);
+            properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new TenantIdentifierResolver());
+        };
+    }
+
+    @Bean
+    public FlywayMigrationStrategy tenantSchemaMigration(TenantRegistry registry) {
+        return flyway -> {
+            flyway.migrate();
+            TenantSchemas.provision(flyway.getConfiguration().getDataSource(), registry.tenants());
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.studentmgmt.tenant;
+
+import java.util.function.Supplier;
+
+/**
+ * The school the current thread works for, set by {@code JwtAuthFilter} from
+ * the token's tenant claim and cleared when the request ends. {@code null}
+ * means the shared {@code public} schema. Work handed to other threads must be
+ * wrapped with {@link #wrap(Supplier)} to keep the tenant.
+ */
+public final class TenantContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String get() {
+        return CURRENT.get();
+    }
+
+    public static void set(String tenant) {
+        CURRENT.set(tenant);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /** Runs {@code task} as {@code tenant}, restoring the previous tenant afterwards. */
+    public static <T> T callAs(String tenant, Supplier<T> task) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /** Binds {@code task} to the caller's tenant so it can run on another thread. */
+    public static <T> Supplier<T> wrap(Supplier<T> task) {
+        String tenant = CURRENT.get();
+        return () -> callAs(tenant, task);
+    }
+}
@@ -0,0 +1,17 @@
+package com.studentmgmt.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/** Opens Hibernate sessions for the {@link TenantContext} tenant, or {@code public}. */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantRegistry.schema(TenantContext.get());
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return true;
+    }
+}
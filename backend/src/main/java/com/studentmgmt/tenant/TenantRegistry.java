@@ -0,0 +1,58 @@
+package com.studentmgmt.tenant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Configured tenants ({@code tenancy.tenants}). A tenant id is also the name of
+ * its Postgres schema, so ids are restricted to lower-case identifiers.
+ * With {@code tenancy.enabled=false} there are no tenants and everything runs
+ * in {@code public}.
+ */
+@Component
+public class TenantRegistry {
+
+    public static final String DEFAULT_SCHEMA = "public";
+
+    private static final Pattern VALID_ID = Pattern.compile("[a-z][a-z0-9_]{0,62}");
+
+    private final boolean enabled;
+    private final Set<String> tenants = new LinkedHashSet<>();
+
+    public TenantRegistry(@Value("${tenancy.enabled:false}") boolean enabled,
+                          @Value("${tenancy.tenants:}") List<String> tenants) {
+        this.enabled = enabled;
+        if (enabled) {
+            for (String tenant : tenants) {
+                String id = tenant.trim();
+                if (id.isEmpty()) continue;
+                if (!VALID_ID.matcher(id).matches() || id.equals(DEFAULT_SCHEMA) || id.startsWith("pg_")) {
+                    throw new IllegalStateException("Invalid tenant id: " + id);
+                }
+                this.tenants.add(id);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Set<String> tenants() {
+        return Set.copyOf(tenants);
+    }
+
+    public boolean isKnown(String tenant) {
+        return tenants.contains(tenant);
+    }
+
+    /** Schema for a tenant id; {@code null} (no tenant) maps to {@code public}. */
+    public static String schema(String tenant) {
+        return tenant == null ? DEFAULT_SCHEMA : tenant;
+    }
+}
@@ -0,0 +1,43 @@
+package com.studentmgmt.tenant;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates missing tenant schemas after Flyway has migrated {@code public}.
+ * Each tenant gets its own copy of the school data tables, cloned from the
+ * {@code public} ones with their columns, defaults, constraints and indexes;
+ * users and refresh tokens stay shared in {@code public}. {@code LIKE} does
+ * not copy partitioning, so {@code students} is then converted with the
+ * same {@code partition_students} function the V9 migration used.
+ *
+ * <p>Only missing tables are created: a later migration that changes one of
+ * {@link #TABLES} must also apply the change to every tenant schema.
+ */
+@Slf4j
+public final class TenantSchemas {
+
+    static final List<String> TABLES = List.of("students", "student_emails", "staff", "tombstones", "audit_log",
+            "student_archive", "staff_archive", "attendance");
+
+    private TenantSchemas() {
+    }
+
+    public static void provision(DataSource dataSource, Set<String> tenants) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        for (String tenant : tenants) {
+            // tenant ids are validated identifiers (TenantRegistry)
+            jdbc.execute("CREATE SCHEMA IF NOT EXISTS " + tenant);
+            for (String table : TABLES) {
+                jdbc.execute("CREATE TABLE IF NOT EXISTS " + tenant + "." + table +
+                        " (LIKE public." + table + " INCLUDING ALL)");
+            }
+            jdbc.queryForList("SELECT public.partition_students(?)", tenant);
+            log.info("Tenant schema {} ready", tenant);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+-- Archive tier: live rows that have been inactive and untouched for
+-- archive.after are moved here in batches, keeping students and staff (and
+-- their indexes) small. Each archived row is the original row as jsonb
+-- (to_jsonb, so jsonb_populate_record turns it back into a row), keyed by id
+-- only; the archive is read by id or scanned for exports.
+CREATE TABLE IF NOT EXISTS student_archive (
+    id          BIGINT       PRIMARY KEY,
+    archived_at TIMESTAMP(6) NOT NULL,
+    data        JSONB        NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS staff_archive (
+    id          BIGINT       PRIMARY KEY,
+    archived_at TIMESTAMP(6) NOT NULL,
+    data        JSONB        NOT NULL
+);
@@ -0,0 +1,19 @@
+-- Attendance: one row per student and term instead of one per student and
+-- day. Bit n of marked/present stands for day n of the term (term_start + n):
+-- marked = attendance was taken, present = the student was there. The
+-- counters are kept in step with the bits so a student's percentage is a
+-- single-row read. No foreign key: students' primary key includes the
+-- partition key (V9), so rows of purged students are left for the term.
+CREATE TABLE IF NOT EXISTS attendance (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    student_id   BIGINT       NOT NULL,
+    term_start   DATE         NOT NULL,
+    marked       BYTEA        NOT NULL,
+    present      BYTEA        NOT NULL,
+    marked_days  INT          NOT NULL DEFAULT 0,
+    present_days INT          NOT NULL DEFAULT 0,
+    version      BIGINT       NOT NULL DEFAULT 0,
+    updated_at   TIMESTAMP(6)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_attendance_term_student ON attendance (term_start, student_id);
@@ -0,0 +1,15 @@
+-- Attendance ids come from a pooled sequence instead of the identity column,
+-- so the first mark of a term (one new row per student) is sent as batched
+-- INSERTs. The sequence lives in public and is shared by tenant schemas.
+CREATE SEQUENCE IF NOT EXISTS attendance_seq INCREMENT BY 50;
+SELECT setval('attendance_seq', COALESCE((SELECT max(id) FROM attendance), 0) + 1, false);
+
+DO $$
+DECLARE s text;
+BEGIN
+    FOR s IN SELECT n.nspname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+             WHERE c.relname = 'attendance' AND c.relkind = 'r'
+    LOOP
+        EXECUTE format('ALTER TABLE %I.attendance ALTER COLUMN id DROP IDENTITY IF EXISTS', s);
+    END LOOP;
+END $$;
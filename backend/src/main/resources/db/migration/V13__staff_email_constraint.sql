@@ -0,0 +1,14 @@
+-- V4 removed the old email uniqueness by dropping every unique constraint on
+-- students and staff. The email constraint is the only one those tables ever
+-- had, so this names it explicitly; students has since moved to student_emails
+-- (V9), which leaves staff in public and every tenant schema. Email stays
+-- unique among live rows through uq_staff_email_live.
+DO $$
+DECLARE s text;
+BEGIN
+    FOR s IN SELECT n.nspname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+             WHERE c.relname = 'staff' AND c.relkind = 'r'
+    LOOP
+        EXECUTE format('ALTER TABLE %I.staff DROP CONSTRAINT IF EXISTS staff_email_key', s);
+    END LOOP;
+END $$;
@@ -0,0 +1,35 @@
+-- ensure_student_partition used to fail once students_default held rows of the
+-- requested year (enrollment dates beyond the years created so far), since a new
+-- partition may not overlap rows already in the default. It now moves those rows
+-- into the new partition: default is detached, the year's table is created and
+-- filled standalone, then both are attached again. Detaching also drops the
+-- cloned email trigger, so the moved rows keep their student_emails claims.
+CREATE OR REPLACE FUNCTION ensure_student_partition(s text, y int) RETURNS void
+LANGUAGE plpgsql AS $$
+DECLARE
+    part  text := format('%I.students_y%s', s, y);
+    dflt  text := format('%I.students_default', s);
+    lo    date := make_date(y, 1, 1);
+    hi    date := make_date(y + 1, 1, 1);
+    stray boolean := false;
+BEGIN
+    IF to_regclass(part) IS NOT NULL THEN
+        RETURN;
+    END IF;
+    IF to_regclass(dflt) IS NOT NULL THEN
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %s WHERE enrollment_date >= %L AND enrollment_date < %L)',
+                       dflt, lo, hi) INTO stray;
+    END IF;
+    IF NOT stray THEN
+        EXECUTE format('CREATE TABLE %s PARTITION OF %I.students FOR VALUES FROM (%L) TO (%L)', part, s, lo, hi);
+        RETURN;
+    END IF;
+
+    EXECUTE format('ALTER TABLE %I.students DETACH PARTITION %s', s, dflt);
+    EXECUTE format('CREATE TABLE %s (LIKE %I.students INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', part, s);
+    EXECUTE format('INSERT INTO %s SELECT * FROM %s WHERE enrollment_date >= %L AND enrollment_date < %L',
+                   part, dflt, lo, hi);
+    EXECUTE format('DELETE FROM %s WHERE enrollment_date >= %L AND enrollment_date < %L', dflt, lo, hi);
+    EXECUTE format('ALTER TABLE %I.students ATTACH PARTITION %s FOR VALUES FROM (%L) TO (%L)', s, part, lo, hi);
+    EXECUTE format('ALTER TABLE %I.students ATTACH PARTITION %s DEFAULT', s, dflt);
+END $$;
@@ -0,0 +1,74 @@
+-- Baseline schema. Written with IF NOT EXISTS so databases previously managed
+-- by ddl-auto can be baselined at version 0 and still pick up the indexes.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email    VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    name     VARCHAR(255) NOT NULL,
+    role     VARCHAR(255) NOT NULL CHECK (role IN ('ADMIN', 'STAFF'))
+);
+
+CREATE TABLE IF NOT EXISTS students (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name      VARCHAR(255) NOT NULL,
+    last_name       VARCHAR(255) NOT NULL,
+    email           VARCHAR(255) NOT NULL UNIQUE,
+    phone           VARCHAR(255),
+    student_class   VARCHAR(255),
+    section         VARCHAR(255),
+    enrollment_date DATE,
+    active          BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS staff (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name    VARCHAR(255) NOT NULL,
+    last_name     VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL UNIQUE,
+    phone         VARCHAR(255),
+    department    VARCHAR(255),
+    position      VARCHAR(255),
+    join_date     DATE,
+    active        BOOLEAN NOT NULL DEFAULT TRUE,
+    salary        DOUBLE PRECISION,
+    qualification VARCHAR(255),
+    address       VARCHAR(255),
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6)
+);
+
+-- Sorted pages: one (sort key, id) index per whitelisted sort field. The
+-- (active, id) index also serves findByActive pages and countByActive.
+CREATE INDEX IF NOT EXISTS idx_students_first_name_id      ON students (first_name, id);
+CREATE INDEX IF NOT EXISTS idx_students_last_name_id       ON students (last_name, id);
+CREATE INDEX IF NOT EXISTS idx_students_email_id           ON students (email, id);
+CREATE INDEX IF NOT EXISTS idx_students_phone_id           ON students (phone, id);
+CREATE INDEX IF NOT EXISTS idx_students_student_class_id   ON students (student_class, id);
+CREATE INDEX IF NOT EXISTS idx_students_section_id         ON students (section, id);
+CREATE INDEX IF NOT EXISTS idx_students_enrollment_date_id ON students (enrollment_date, id);
+CREATE INDEX IF NOT EXISTS idx_students_active_id          ON students (active, id);
+
+CREATE INDEX IF NOT EXISTS idx_staff_first_name_id ON staff (first_name, id);
+CREATE INDEX IF NOT EXISTS idx_staff_last_name_id  ON staff (last_name, id);
+CREATE INDEX IF NOT EXISTS idx_staff_email_id      ON staff (email, id);
+CREATE INDEX IF NOT EXISTS idx_staff_phone_id      ON staff (phone, id);
+CREATE INDEX IF NOT EXISTS idx_staff_department_id ON staff (department, id);
+CREATE INDEX IF NOT EXISTS idx_staff_position_id   ON staff (position, id);
+CREATE INDEX IF NOT EXISTS idx_staff_join_date_id  ON staff (join_date, id);
+CREATE INDEX IF NOT EXISTS idx_staff_active_id     ON staff (active, id);
+
+-- search / searchByActive use LOWER(col) LIKE '%term%', which only a trigram
+-- index can serve.
+CREATE INDEX IF NOT EXISTS idx_students_first_name_trgm ON students USING gin (LOWER(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_students_last_name_trgm  ON students USING gin (LOWER(last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_students_email_trgm      ON students USING gin (LOWER(email) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_staff_first_name_trgm ON staff USING gin (LOWER(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_staff_last_name_trgm  ON staff USING gin (LOWER(last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_staff_email_trgm      ON staff USING gin (LOWER(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_staff_department_trgm ON staff USING gin (LOWER(department) gin_trgm_ops);
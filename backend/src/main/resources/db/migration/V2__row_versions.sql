@@ -0,0 +1,3 @@
+-- Optimistic locking counters for Student and Staff (@Version).
+ALTER TABLE students ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE staff    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,15 @@
+-- Delta sync: keyset scans over (updated_at, id) and tombstones for deletes.
+UPDATE students SET updated_at = COALESCE(created_at, now()) WHERE updated_at IS NULL;
+UPDATE staff    SET updated_at = COALESCE(created_at, now()) WHERE updated_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_students_updated_at_id ON students (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_staff_updated_at_id    ON staff (updated_at, id);
+
+CREATE TABLE IF NOT EXISTS tombstones (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entity_type VARCHAR(20)  NOT NULL,
+    entity_id   BIGINT       NOT NULL,
+    deleted_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_tombstones_type_deleted_at ON tombstones (entity_type, deleted_at, id);
@@ -0,0 +1,28 @@
+-- Soft delete: rows are marked with deleted_at and purged later in batches.
+ALTER TABLE students ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+ALTER TABLE staff    ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+
+-- Email stays unique among live rows only, so a deleted address can be reused.
+-- The old constraint name depends on who created the table (V1 or ddl-auto).
+DO $$
+DECLARE c record;
+BEGIN
+    FOR c IN SELECT conrelid::regclass AS tbl, conname FROM pg_constraint
+             WHERE contype = 'u' AND conrelid IN ('students'::regclass, 'staff'::regclass)
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', c.tbl, c.conname);
+    END LOOP;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_students_email_live ON students (email) WHERE deleted_at IS NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_staff_email_live    ON staff (email) WHERE deleted_at IS NULL;
+
+-- Filters and counts only ever look at live rows.
+DROP INDEX IF EXISTS idx_students_active_id;
+DROP INDEX IF EXISTS idx_staff_active_id;
+CREATE INDEX IF NOT EXISTS idx_students_active_id ON students (active, id) WHERE deleted_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_staff_active_id    ON staff (active, id) WHERE deleted_at IS NULL;
+
+-- The purge job walks tombstoned rows oldest first.
+CREATE INDEX IF NOT EXISTS idx_students_deleted_at ON students (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_staff_deleted_at    ON staff (deleted_at) WHERE deleted_at IS NOT NULL;
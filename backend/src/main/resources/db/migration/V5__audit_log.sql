@@ -0,0 +1,12 @@
+-- Append-only audit trail, written in batches by AuditWriter.
+CREATE TABLE IF NOT EXISTS audit_log (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entity_type VARCHAR(20)  NOT NULL,
+    entity_id   BIGINT       NOT NULL,
+    action      VARCHAR(20)  NOT NULL,
+    actor       VARCHAR(255) NOT NULL,
+    changes     TEXT,
+    occurred_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_audit_log_entity ON audit_log (entity_type, entity_id, occurred_at);
@@ -0,0 +1,15 @@
+-- Refresh tokens are stored as SHA-256 hashes; access tokens stay stateless.
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id           BIGINT       NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    token_hash        VARCHAR(64)  NOT NULL UNIQUE,
+    access_jti        VARCHAR(36)  NOT NULL,
+    access_expires_at TIMESTAMP(6) NOT NULL,
+    expires_at        TIMESTAMP(6) NOT NULL,
+    created_at        TIMESTAMP(6) NOT NULL,
+    rotated_at        TIMESTAMP(6),
+    revoked_at        TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_revoked_access ON refresh_tokens (revoked_at, access_expires_at);
@@ -0,0 +1,2 @@
+-- School (tenant schema) a user belongs to in multi-tenant mode; NULL = shared public schema.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS tenant VARCHAR(63);
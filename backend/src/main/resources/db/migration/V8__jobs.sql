@@ -0,0 +1,25 @@
+-- Background jobs shared by all replicas. Workers claim QUEUED rows with
+-- FOR UPDATE SKIP LOCKED and keep RUNNING rows alive through heartbeat_at;
+-- dedupe_key makes scheduled jobs (one purge per day) insert-once cluster-wide.
+CREATE TABLE IF NOT EXISTS jobs (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    type         VARCHAR(50)  NOT NULL,
+    dedupe_key   VARCHAR(200),
+    payload      TEXT,
+    tenant       VARCHAR(63),
+    status       VARCHAR(20)  NOT NULL CHECK (status IN ('QUEUED', 'RUNNING', 'DONE', 'FAILED')),
+    attempts     INT          NOT NULL DEFAULT 0,
+    max_attempts INT          NOT NULL DEFAULT 3,
+    run_after    TIMESTAMP(6) NOT NULL,
+    owner        VARCHAR(100),
+    heartbeat_at TIMESTAMP(6),
+    created_at   TIMESTAMP(6) NOT NULL,
+    started_at   TIMESTAMP(6),
+    finished_at  TIMESTAMP(6),
+    last_error   TEXT
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_jobs_dedupe_key ON jobs (dedupe_key) WHERE dedupe_key IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_jobs_queued ON jobs (run_after, id) WHERE status = 'QUEUED';
+CREATE INDEX IF NOT EXISTS idx_jobs_running ON jobs (heartbeat_at) WHERE status = 'RUNNING';
+CREATE INDEX IF NOT EXISTS idx_jobs_finished ON jobs (finished_at) WHERE status IN ('DONE', 'FAILED');
@@ -0,0 +1,134 @@
+-- Range-partitions students by enrollment_date, one partition per calendar
+-- year (students_y2024 holds 2024-01-01 .. 2024-12-31) plus students_default
+-- for dates outside the created years. Queries filtering on enrollment_date
+-- only scan the matching partitions, and a graduated cohort is detached with
+-- SELECT detach_student_cohort(2019) without rewriting the table.
+--
+-- Postgres needs the partition key in every unique index, so:
+--   * enrollment_date becomes NOT NULL (missing dates take the creation date);
+--   * the primary key is (id, enrollment_date); ids still come from one identity;
+--   * live-email uniqueness moves to student_emails, kept in step by a trigger.
+-- The conversion is a function so tenant schemas get the same layout.
+
+CREATE OR REPLACE FUNCTION ensure_student_partition(s text, y int) RETURNS void
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF to_regclass(format('%I.students_y%s', s, y)) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I.students_y%s PARTITION OF %I.students FOR VALUES FROM (%L) TO (%L)',
+                       s, y, s, make_date(y, 1, 1), make_date(y + 1, 1, 1));
+    END IF;
+END $$;
+
+-- Claims the email of every live row; the partition (and so the schema) comes from the trigger.
+CREATE OR REPLACE FUNCTION student_email_claim() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.deleted_at IS NULL THEN
+        EXECUTE format('DELETE FROM %I.student_emails WHERE email = $1 AND student_id = $2', TG_TABLE_SCHEMA)
+            USING OLD.email, OLD.id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.deleted_at IS NULL THEN
+        EXECUTE format('INSERT INTO %I.student_emails (email, student_id) VALUES ($1, $2)', TG_TABLE_SCHEMA)
+            USING NEW.email, NEW.id;
+    END IF;
+    RETURN NULL;
+END $$;
+
+CREATE OR REPLACE FUNCTION partition_students(s text) RETURNS void
+LANGUAGE plpgsql AS $$
+DECLARE
+    first_year int;
+    last_year  int := extract(year FROM CURRENT_DATE)::int + 1;
+    max_id     bigint;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(format('%I.students', s))) THEN
+        RETURN;
+    END IF;
+
+    EXECUTE format('UPDATE %I.students SET enrollment_date = COALESCE(created_at::date, CURRENT_DATE) '
+                   'WHERE enrollment_date IS NULL', s);
+    EXECUTE format('ALTER TABLE %I.students RENAME TO students_unpartitioned', s);
+    EXECUTE format($ddl$
+        CREATE TABLE %I.students (
+            id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+            first_name      VARCHAR(255) NOT NULL,
+            last_name       VARCHAR(255) NOT NULL,
+            email           VARCHAR(255) NOT NULL,
+            phone           VARCHAR(255),
+            student_class   VARCHAR(255),
+            section         VARCHAR(255),
+            enrollment_date DATE NOT NULL,
+            active          BOOLEAN NOT NULL DEFAULT TRUE,
+            created_at      TIMESTAMP(6),
+            updated_at      TIMESTAMP(6),
+            deleted_at      TIMESTAMP(6),
+            version         BIGINT NOT NULL DEFAULT 0
+        ) PARTITION BY RANGE (enrollment_date)$ddl$, s);
+
+    EXECUTE format('SELECT LEAST(min(extract(year FROM enrollment_date))::int, %s) FROM %I.students_unpartitioned',
+                   last_year - 1, s) INTO first_year;
+    FOR y IN COALESCE(first_year, last_year - 1) .. last_year LOOP
+        PERFORM ensure_student_partition(s, y);
+    END LOOP;
+    EXECUTE format('CREATE TABLE %I.students_default PARTITION OF %I.students DEFAULT', s, s);
+
+    EXECUTE format($ddl$
+        INSERT INTO %I.students (id, first_name, last_name, email, phone, student_class, section,
+                                 enrollment_date, active, created_at, updated_at, deleted_at, version)
+        SELECT id, first_name, last_name, email, phone, student_class, section,
+               enrollment_date, active, created_at, updated_at, deleted_at, version
+        FROM %I.students_unpartitioned$ddl$, s, s);
+    EXECUTE format('SELECT max(id) FROM %I.students', s) INTO max_id;
+    PERFORM setval(pg_get_serial_sequence(format('%I.students', s), 'id'), COALESCE(max_id, 0) + 1, false);
+    EXECUTE format('DROP TABLE %I.students_unpartitioned', s);
+
+    -- Indexes are built once the rows are in; each is created on every partition.
+    EXECUTE format($ddl$
+        ALTER TABLE %1$I.students ADD CONSTRAINT students_pkey PRIMARY KEY (id, enrollment_date);
+        CREATE INDEX idx_students_first_name_id      ON %1$I.students (first_name, id);
+        CREATE INDEX idx_students_last_name_id       ON %1$I.students (last_name, id);
+        CREATE INDEX idx_students_email_id           ON %1$I.students (email, id);
+        CREATE INDEX idx_students_phone_id           ON %1$I.students (phone, id);
+        CREATE INDEX idx_students_student_class_id   ON %1$I.students (student_class, id);
+        CREATE INDEX idx_students_section_id         ON %1$I.students (section, id);
+        CREATE INDEX idx_students_enrollment_date_id ON %1$I.students (enrollment_date, id);
+        CREATE INDEX idx_students_active_id          ON %1$I.students (active, id) WHERE deleted_at IS NULL;
+        CREATE INDEX idx_students_updated_at_id      ON %1$I.students (updated_at, id);
+        CREATE INDEX idx_students_deleted_at         ON %1$I.students (deleted_at) WHERE deleted_at IS NOT NULL;
+        CREATE INDEX idx_students_first_name_trgm    ON %1$I.students USING gin (LOWER(first_name) gin_trgm_ops);
+        CREATE INDEX idx_students_last_name_trgm     ON %1$I.students USING gin (LOWER(last_name) gin_trgm_ops);
+        CREATE INDEX idx_students_email_trgm         ON %1$I.students USING gin (LOWER(email) gin_trgm_ops);
+
+        CREATE TABLE IF NOT EXISTS %1$I.student_emails (
+            email      VARCHAR(255) PRIMARY KEY,
+            student_id BIGINT NOT NULL
+        );
+        TRUNCATE %1$I.student_emails;
+        INSERT INTO %1$I.student_emails (email, student_id)
+        SELECT email, id FROM %1$I.students WHERE deleted_at IS NULL;
+        CREATE TRIGGER students_email_claim
+            AFTER INSERT OR DELETE OR UPDATE OF email, deleted_at ON %1$I.students
+            FOR EACH ROW EXECUTE FUNCTION public.student_email_claim();
+        $ddl$, s);
+END $$;
+
+-- Detaches one cohort's partition (it stays as a plain table, e.g. for the
+-- archive) and releases its students' emails.
+CREATE OR REPLACE FUNCTION detach_student_cohort(y int, s text DEFAULT 'public') RETURNS void
+LANGUAGE plpgsql AS $$
+BEGIN
+    EXECUTE format('ALTER TABLE %I.students DETACH PARTITION %I.students_y%s', s, s, y);
+    EXECUTE format('DELETE FROM %I.student_emails e USING %I.students_y%s d WHERE e.student_id = d.id',
+                   s, s, y);
+END $$;
+
+-- public and every tenant schema provisioned before this migration
+DO $$
+DECLARE s text;
+BEGIN
+    FOR s IN SELECT n.nspname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+             WHERE c.relname = 'students' AND c.relkind IN ('r', 'p')
+    LOOP
+        PERFORM partition_students(s);
+    END LOOP;
+END $$;
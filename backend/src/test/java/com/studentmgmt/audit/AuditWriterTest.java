@@ -0,0 +1,77 @@
+package com.studentmgmt.audit;
+
+import com.studentmgmt.entity.AuditEntry;
+import com.studentmgmt.event.ChangeType;
+import com.studentmgmt.event.EntityType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AuditWriter writer(int capacity, AuditWriter.OverflowPolicy policy, int batchSize) {
+        // The background thread is never started, so flush() drains deterministically.
+        return new AuditWriter(jdbcTemplate, meterRegistry, capacity, policy,
+                Duration.ofMillis(10), batchSize, Duration.ofSeconds(1));
+    }
+
+    private static AuditEntry entry(long id) {
+        return AuditEntry.builder()
+                .entityType(EntityType.STUDENT)
+                .entityId(id)
+                .action(ChangeType.UPDATED)
+                .actor("admin@example.com")
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("should drop and count entries once the queue is full")
+    void shouldDropWhenFull() {
+        AuditWriter writer = writer(2, AuditWriter.OverflowPolicy.DROP, 10);
+
+        assertThat(writer.enqueue(entry(1))).isTrue();
+        assertThat(writer.enqueue(entry(2))).isTrue();
+        assertThat(writer.enqueue(entry(3))).isFalse();
+
+        assertThat(meterRegistry.counter("audit.entries.dropped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should give up after the block timeout under the block policy")
+    void shouldBlockThenDrop() {
+        AuditWriter writer = writer(1, AuditWriter.OverflowPolicy.BLOCK, 10);
+
+        assertThat(writer.enqueue(entry(1))).isTrue();
+        assertThat(writer.enqueue(entry(2))).isFalse();
+        assertThat(meterRegistry.counter("audit.entries.dropped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("should write queued entries in batches of the configured size")
+    void shouldWriteInBatches() {
+        AuditWriter writer = writer(100, AuditWriter.OverflowPolicy.DROP, 2);
+        for (long id = 1; id <= 5; id++) {
+            writer.enqueue(entry(id));
+        }
+
+        assertThat(writer.flush()).isEqualTo(5);
+
+        verify(jdbcTemplate, times(3)).batchUpdate(eq(AuditWriter.INSERT_SQL), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+}
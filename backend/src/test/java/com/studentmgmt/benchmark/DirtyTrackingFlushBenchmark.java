@@ -0,0 +1,91 @@
+package com.studentmgmt.benchmark;
+
+import com.studentmgmt.entity.Student;
+import com.studentmgmt.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flush cost with many managed students and few or all of them modified.
+ * With build-time dirty tracking the few-dirty flush should cost a small
+ * fraction of the all-dirty one, since unchanged entities are skipped
+ * without a snapshot comparison. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DirtyTrackingFlushBenchmark {
+
+    private static final int ROWS = 20_000;
+    private static final int RUNS = 7;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void seed() {
+        studentRepository.deleteAllInBatch();
+        List<Student> students = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            students.add(Student.builder()
+                    .firstName("First" + i).lastName("Last" + i).email("s" + i + "@bench.test")
+                    .studentClass(String.valueOf(i % 12 + 1)).section("ABCD".substring(i % 4, i % 4 + 1))
+                    .active(true).build());
+        }
+        studentRepository.saveAll(students);
+    }
+
+    @Test
+    void flushCost() {
+        assertThat(SelfDirtinessTracker.class.isAssignableFrom(Student.class))
+                .as("Student must be enhanced by hibernate-enhance-maven-plugin")
+                .isTrue();
+
+        System.out.printf("%-22s %12s%n", "dirty / managed", "flush p50 ms");
+        for (int dirty : new int[]{0, ROWS / 100, ROWS / 10, ROWS}) {
+            System.out.printf("%-22s %12.2f%n", dirty + " / " + ROWS, median(dirty));
+        }
+    }
+
+    private double median(int dirty) {
+        double[] samples = IntStream.range(0, RUNS).mapToDouble(run -> flushMillis(dirty)).toArray();
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    private double flushMillis(int dirty) {
+        Double millis = transactionTemplate.execute(status -> {
+            List<Student> managed = studentRepository.findAll();
+            for (int i = 0; i < dirty; i++) {
+                Student student = managed.get(i);
+                student.setActive(!student.isActive());
+            }
+            long start = System.nanoTime();
+            entityManager.flush();
+            return (System.nanoTime() - start) / 1e6;
+        });
+        return millis == null ? 0 : millis;
+    }
+}
@@ -0,0 +1,65 @@
+package com.studentmgmt.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Login throughput per bcrypt cost: verifications per second on one core and
+ * on all cores, so {@code security.password.bcrypt-strength} and
+ * {@code hashing-threads} can be sized for a login storm.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class PasswordHashingBenchmark {
+
+    private static final int[] COSTS = {8, 9, 10, 11, 12};
+    private static final long MEASURE_NANOS = 2_000_000_000L;
+
+    @Test
+    void loginsPerSecondPerCore() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%-6s %14s %14s %16s%n", "cost", "1 thread/s", cores + " threads/s", "per core/s");
+
+        for (int cost : COSTS) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+            String hash = encoder.encode("correct horse battery staple");
+            encoder.matches("correct horse battery staple", hash); // warm-up
+
+            double single = throughput(encoder, hash, 1);
+            double all = throughput(encoder, hash, cores);
+            System.out.printf("%-6d %14.1f %14.1f %16.1f%n", cost, single, all, all / cores);
+        }
+    }
+
+    private static double throughput(BCryptPasswordEncoder encoder, String hash, int threads) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    int done = 0;
+                    while (System.nanoTime() - start < MEASURE_NANOS) {
+                        encoder.matches("correct horse battery staple", hash);
+                        done++;
+                    }
+                    return done;
+                }));
+            }
+            long total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get();
+            }
+            return total / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
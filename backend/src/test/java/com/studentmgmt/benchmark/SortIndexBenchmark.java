@@ -0,0 +1,139 @@
+package com.studentmgmt.benchmark;
+
+import com.studentmgmt.entity.Student;
+import com.studentmgmt.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of a deep sorted page for every whitelisted student sort field,
+ * against a seeded Postgres, plus the top plan node Postgres picks for it.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("test")
+class SortIndexBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final int RUNS = 25;
+    private static final int PAGE = 500;
+    private static final int SIZE = 20;
+
+    private static final Map<String, String> COLUMNS = Map.of(
+            "id", "id",
+            "firstName", "first_name",
+            "lastName", "last_name",
+            "email", "email",
+            "phone", "phone",
+            "studentClass", "student_class",
+            "section", "section",
+            "enrollmentDate", "enrollment_date",
+            "active", "active");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static boolean seeded;
+
+    @BeforeAll
+    static void checkColumns() {
+        assertThat(COLUMNS.keySet()).containsExactlyInAnyOrderElementsOf(Student.SORTABLE_FIELDS);
+    }
+
+    @Test
+    void sortedPageLatencyPerField() {
+        seed();
+        Map<String, String> report = new TreeMap<>();
+
+        for (String field : Student.SORTABLE_FIELDS) {
+            Sort sort = "id".equals(field) ? Sort.by(field) : Sort.by(field).and(Sort.by("id"));
+            PageRequest pageable = PageRequest.of(PAGE, SIZE, sort);
+
+            long[] nanos = new long[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                long start = System.nanoTime();
+                studentRepository.findAll(pageable);
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+
+            String plan = topPlanNode(field);
+            report.put(field, String.format("p50 %6.2f ms  p95 %6.2f ms  %s",
+                    nanos[RUNS / 2] / 1e6, nanos[RUNS * 95 / 100] / 1e6, plan));
+            assertThat(plan).as("plan for " + field).contains("Index");
+        }
+
+        System.out.printf("%nSorted page %d (size %d) over %,d students%n", PAGE, SIZE, ROWS);
+        report.forEach((field, line) -> System.out.printf("  %-15s %s%n", field, line));
+    }
+
+    private String topPlanNode(String field) {
+        String column = COLUMNS.get(field);
+        String order = "id".equals(column) ? "id" : column + ", id";
+        List<String> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM students ORDER BY " + order
+                        + " LIMIT " + SIZE + " OFFSET " + (PAGE * SIZE), String.class);
+        return plan.stream()
+                .map(String::trim)
+                .map(line -> line.replaceFirst("^->\\s*", ""))
+                .filter(line -> !line.startsWith("Limit"))
+                .findFirst()
+                .map(line -> line.replaceAll("\\s*\\(cost=.*$", ""))
+                .orElse("?");
+    }
+
+    private void seed() {
+        if (seeded) return;
+        jdbcTemplate.execute("TRUNCATE students, student_emails");
+        // One partition per seeded enrollment year, as in production
+        jdbcTemplate.execute("SELECT ensure_student_partition('public', y) FROM generate_series(2015, 2025) y");
+        jdbcTemplate.update("""
+                INSERT INTO students (first_name, last_name, email, phone, student_class, section,
+                                      enrollment_date, active, created_at, updated_at)
+                SELECT 'First' || md5(g::text), 'Last' || md5((g * 7)::text), 'student' || g || '@bench.test',
+                       lpad((g * 7919 % 10000000)::text, 10, '9'), (g % 12 + 1)::text, chr(65 + g % 6),
+                       DATE '2015-01-01' + (g % 3650), g % 5 <> 0, now(), now()
+                FROM generate_series(1, ?) g
+                """, ROWS);
+        jdbcTemplate.execute("ANALYZE students");
+        seeded = true;
+    }
+}
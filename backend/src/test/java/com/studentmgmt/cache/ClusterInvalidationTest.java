@@ -0,0 +1,138 @@
+package com.studentmgmt.cache;
+
+import com.studentmgmt.StudentManagementApplication;
+import com.studentmgmt.config.TokenRevocationList;
+import com.studentmgmt.dto.StaffDto;
+import com.studentmgmt.dto.StudentDto;
+import com.studentmgmt.service.StudentService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application instances against one Postgres: a change made through one
+ * must reach the other's caches over LISTEN/NOTIFY, and a sequence gap must
+ * flush them. Run with {@code mvn test -Pcluster} (needs Docker).
+ */
+@Tag("cluster")
+@Testcontainers
+class ClusterInvalidationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeA != null) nodeA.close();
+        if (nodeB != null) nodeB.close();
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        // Command-line arguments, so they win over application-test.yml
+        return new SpringApplicationBuilder(StudentManagementApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword(),
+                        "--spring.datasource.driver-class-name=" + postgres.getDriverClassName(),
+                        "--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                        "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--spring.flyway.enabled=true",
+                        "--cache.enabled=true",
+                        "--cache.invalidation.enabled=true");
+    }
+
+    @Test
+    @DisplayName("should invalidate the other node's cached student after an update")
+    void shouldPropagateUpdates() {
+        StudentService serviceA = nodeA.getBean(StudentService.class);
+        StudentService serviceB = nodeB.getBean(StudentService.class);
+        LocalCaches cachesB = nodeB.getBean(LocalCaches.class);
+
+        StudentDto dto = new StudentDto();
+        dto.setFirstName("Ann");
+        dto.setLastName("Lee");
+        dto.setEmail("ann.lee@cluster.test");
+        Long id = serviceA.create(dto).getId();
+
+        // Caching starts once B's listener is connected
+        awaitTrue(() -> {
+            serviceB.getById(id);
+            return cachesB.students().size() > 0;
+        });
+        assertThat(serviceB.getById(id).getFirstName()).isEqualTo("Ann");
+
+        dto.setFirstName("Anna");
+        long start = System.nanoTime();
+        serviceA.update(id, dto, null);
+
+        awaitTrue(() -> "Anna".equals(serviceB.getById(id).getFirstName()));
+        System.out.printf("Update visible on node B after %.1f ms%n", (System.nanoTime() - start) / 1e6);
+    }
+
+    @Test
+    @DisplayName("should flush the other node's caches when it misses messages")
+    void shouldFlushOnSequenceGap() {
+        LocalCaches cachesB = nodeB.getBean(LocalCaches.class);
+        JdbcTemplate jdbc = nodeA.getBean(JdbcTemplate.class);
+        awaitTrue(() -> {
+            cachesB.staff().get("public:1", StaffDto::new);
+            return cachesB.staff().size() > 0;
+        });
+
+        notify(jdbc, new InvalidationMessage("gapnode", 1, System.currentTimeMillis(), LocalCaches.USERS, List.of("x")));
+        notify(jdbc, new InvalidationMessage("gapnode", 4, System.currentTimeMillis(), LocalCaches.USERS, List.of("y")));
+
+        awaitTrue(() -> cachesB.staff().size() == 0);
+    }
+
+    @Test
+    @DisplayName("should enforce a token revocation on the other node")
+    void shouldPropagateRevocations() {
+        nodeA.getBean(InvalidationBus.class).revoked("cluster-jti", System.currentTimeMillis() + 60_000);
+
+        TokenRevocationList revocationsB = nodeB.getBean(TokenRevocationList.class);
+        awaitTrue(() -> revocationsB.isRevoked("cluster-jti"));
+    }
+
+    private static void notify(JdbcTemplate jdbc, InvalidationMessage message) {
+        jdbc.queryForList("SELECT pg_notify('cache_invalidation', ?)", message.encode());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
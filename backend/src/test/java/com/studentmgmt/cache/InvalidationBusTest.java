@@ -0,0 +1,95 @@
+package com.studentmgmt.cache;
+
+import com.studentmgmt.config.TokenRevocationList;
+import com.studentmgmt.dto.StaffDto;
+import com.studentmgmt.dto.StudentDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class InvalidationBusTest {
+
+    private final LocalCaches caches = new LocalCaches(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(1));
+    private final TokenRevocationList revocationList = new TokenRevocationList();
+    private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+    private InvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        // Not started: messages are fed to receive() directly
+        bus = new InvalidationBus(caches, revocationList, null, null, events, new SimpleMeterRegistry(),
+                false, "cache_invalidation", Duration.ofSeconds(1));
+        caches.students().get("public:1", StudentDto::new);
+        caches.students().get("public:2", StudentDto::new);
+    }
+
+    @Test
+    @DisplayName("should drop the keys named by another node's message")
+    void shouldInvalidateKeys() {
+        bus.receive(message("other", 1, LocalCaches.STUDENTS, List.of("public:1")));
+
+        assertThat(caches.students().size()).isEqualTo(1);
+        verify(events, never()).publishEvent(any(ClusterResyncEvent.class));
+    }
+
+    @Test
+    @DisplayName("should flush everything and request a resync when messages were missed")
+    void shouldFlushOnGap() {
+        caches.staff().get("public:9", StaffDto::new);
+
+        bus.receive(message("other", 1, LocalCaches.USERS, List.of("a@school.test")));
+        bus.receive(message("other", 3, LocalCaches.USERS, List.of("b@school.test")));
+
+        assertThat(caches.students().size()).isZero();
+        assertThat(caches.staff().size()).isZero();
+        verify(events).publishEvent(any(ClusterResyncEvent.class));
+    }
+
+    @Test
+    @DisplayName("should clear the whole cache for an overflowing message")
+    void shouldClearCacheWhenKeysDoNotFit() {
+        List<String> keys = Collections.nCopies(1000, "public:123456789");
+        String payload = new InvalidationMessage("other", 1, System.currentTimeMillis(), LocalCaches.STUDENTS, keys).encode();
+
+        assertThat(payload).endsWith("\n*");
+        bus.receive(payload);
+
+        assertThat(caches.students().size()).isZero();
+    }
+
+    @Test
+    @DisplayName("should apply token revocations from other nodes")
+    void shouldApplyRevocations() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        bus.receive(message("other", 1, InvalidationBus.REVOKED, List.of(TokenRevocationList.hash("jti-1") + ":" + expiresAt)));
+
+        assertThat(revocationList.isRevoked("jti-1")).isTrue();
+        assertThat(revocationList.isRevoked("jti-2")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should ignore malformed payloads")
+    void shouldIgnoreMalformedPayloads() {
+        bus.receive("hello");
+        bus.receive("a b c\npublic:1");
+
+        assertThat(caches.students().size()).isEqualTo(2);
+    }
+
+    private static String message(String node, long seq, String cache, List<String> keys) {
+        return new InvalidationMessage(node, seq, System.currentTimeMillis(), cache, keys).encode();
+    }
+}
@@ -0,0 +1,73 @@
+package com.studentmgmt.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalCacheTest {
+
+    private final LocalCache<String> cache = new LocalCache<>("students", 2, Duration.ofMinutes(1));
+
+    @Test
+    @DisplayName("should load once and then serve from the cache")
+    void shouldReadThrough() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("public:1", () -> "v" + loads.incrementAndGet());
+        String second = cache.get("public:1", () -> "v" + loads.incrementAndGet());
+
+        assertThat(second).isEqualTo("v1");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should evict the least recently used entry beyond the bound")
+    void shouldEvictLeastRecentlyUsed() {
+        cache.get("a", () -> "a");
+        cache.get("b", () -> "b");
+        cache.get("a", () -> "a2");
+        cache.get("c", () -> "c");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a", () -> "reloaded")).isEqualTo("a");
+        assertThat(cache.get("b", () -> "reloaded")).isEqualTo("reloaded");
+    }
+
+    @Test
+    @DisplayName("should not store a value loaded while an invalidation happened")
+    void shouldNotStoreValueRacingAnInvalidation() {
+        String loaded = cache.get("public:1", () -> {
+            cache.invalidate(List.of("public:1"));
+            return "old";
+        });
+
+        assertThat(loaded).isEqualTo("old");
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("public:1", () -> "new")).isEqualTo("new");
+    }
+
+    @Test
+    @DisplayName("should not cache null results")
+    void shouldNotCacheNull() {
+        cache.get("missing", () -> null);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("should pass reads through and stay empty while inactive")
+    void shouldPassThroughWhenInactive() {
+        cache.get("a", () -> "a");
+        cache.setActive(false);
+
+        assertThat(cache.get("a", () -> "fresh")).isEqualTo("fresh");
+        assertThat(cache.size()).isZero();
+    }
+}
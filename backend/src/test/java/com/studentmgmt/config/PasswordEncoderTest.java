@@ -0,0 +1,75 @@
+package com.studentmgmt.config;
+
+import com.studentmgmt.exception.ServiceBusyException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordEncoderTest {
+
+    private final PasswordEncoder encoder = SecurityConfig.delegatingPasswordEncoder(5);
+
+    @Test
+    @DisplayName("should verify legacy unprefixed bcrypt hashes and flag them for upgrade")
+    void shouldUpgradeLegacyHash() {
+        String legacy = new BCryptPasswordEncoder(5).encode("secret123");
+
+        assertThat(encoder.matches("secret123", legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should flag hashes below the configured cost but not current ones")
+    void shouldUpgradeLowerCost() {
+        String weak = SecurityConfig.delegatingPasswordEncoder(4).encode("secret123");
+        String current = encoder.encode("secret123");
+
+        assertThat(current).startsWith("{bcrypt}$2a$05$");
+        assertThat(encoder.matches("secret123", weak)).isTrue();
+        assertThat(encoder.upgradeEncoding(weak)).isTrue();
+        assertThat(encoder.upgradeEncoding(current)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject work beyond the bounded hashing queue")
+    void shouldRejectWhenSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence raw) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return raw.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence raw, String encoded) {
+                return raw.toString().equals(encoded);
+            }
+        };
+
+        try (BoundedPasswordEncoder bounded = new BoundedPasswordEncoder(blocking, 1, 1)) {
+            Thread running = new Thread(() -> bounded.encode("a"));
+            Thread queued = new Thread(() -> bounded.encode("b"));
+            running.start();
+            Thread.sleep(100);
+            queued.start();
+            Thread.sleep(100);
+
+            assertThatThrownBy(() -> bounded.encode("c")).isInstanceOf(ServiceBusyException.class);
+
+            release.countDown();
+            running.join();
+            queued.join();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.studentmgmt.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final RateLimiter.Limit limit = new RateLimiter.Limit(3, 60); // one per second, bursts of 3
+
+    @Test
+    @DisplayName("should allow a burst, then reject with the time until the next token")
+    void shouldLimitAfterBurst() {
+        RateLimiter limiter = new RateLimiter(4, 100, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("u1|SEARCH", "*|SEARCH", limit).allowed()).isTrue();
+        }
+        RateLimiter.Decision rejected = limiter.tryAcquire("u1|SEARCH", "*|SEARCH", limit);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(limiter.tryAcquire("u1|SEARCH", "*|SEARCH", limit).allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should keep separate buckets per key")
+    void shouldIsolateKeys() {
+        RateLimiter limiter = new RateLimiter(4, 100, now::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("u1|EXPORT", "*|EXPORT", limit);
+        }
+
+        assertThat(limiter.tryAcquire("u1|EXPORT", "*|EXPORT", limit).allowed()).isFalse();
+        assertThat(limiter.tryAcquire("u2|EXPORT", "*|EXPORT", limit).allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should evict only buckets that have fully refilled")
+    void shouldEvictIdleBuckets() {
+        RateLimiter limiter = new RateLimiter(1, 100, now::get);
+        limiter.tryAcquire("u1|DEFAULT", "*|DEFAULT", limit);
+        limiter.tryAcquire("u2|DEFAULT", "*|DEFAULT", limit);
+
+        assertThat(limiter.evictIdle()).isZero();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertThat(limiter.evictIdle()).isEqualTo(2);
+        assertThat(limiter.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("should share the overflow bucket once a stripe is full of busy buckets")
+    void shouldFallBackToOverflowBucket() {
+        RateLimiter limiter = new RateLimiter(1, 1, now::get);
+        limiter.tryAcquire("u1|DEFAULT", "*|DEFAULT", limit);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("u" + (i + 2) + "|DEFAULT", "*|DEFAULT", limit).allowed()).isTrue();
+        }
+        assertThat(limiter.tryAcquire("u9|DEFAULT", "*|DEFAULT", limit).allowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should start new buckets full when the clock reads negative")
+    void shouldHandleNegativeClock() {
+        now.set(-TimeUnit.HOURS.toNanos(1));
+        RateLimiter limiter = new RateLimiter(1, 100, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("u1|DEFAULT", "*|DEFAULT", limit).allowed()).isTrue();
+        }
+        assertThat(limiter.tryAcquire("u1|DEFAULT", "*|DEFAULT", limit).allowed()).isFalse();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(3));
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,72 @@
+package com.studentmgmt.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private DataSource dataSource;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource();
+        DataSource primary = h2("primary");
+        routing.setTargetDataSources(Map.of(
+                ReadReplicaRoutingDataSource.Route.PRIMARY, primary,
+                ReadReplicaRoutingDataSource.Route.REPLICA, h2("replica")));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        DataSourceTransactionManager txManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(txManager);
+        readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    @DisplayName("read-only transactions are served by the replica")
+    void readOnlyGoesToReplica() {
+        String url = readOnly.execute(status -> currentUrl());
+        assertThat(url).contains("replica");
+    }
+
+    @Test
+    @DisplayName("read-write transactions are served by the primary")
+    void readWriteGoesToPrimary() {
+        String url = readWrite.execute(status -> currentUrl());
+        assertThat(url).contains("primary");
+    }
+
+    private String currentUrl() {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return connection.getMetaData().getURL();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
@@ -0,0 +1,43 @@
+package com.studentmgmt.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeEventBufferTest {
+
+    private static EntityChangedEvent created(long id) {
+        return new EntityChangedEvent(EntityType.STUDENT, ChangeType.CREATED, List.of(id), null);
+    }
+
+    @Test
+    @DisplayName("should assign consecutive offsets and resume after a given offset")
+    void shouldResumeAfterOffset() {
+        ChangeEventBuffer buffer = new ChangeEventBuffer(8);
+        for (long id = 1; id <= 5; id++) {
+            buffer.append(created(id));
+        }
+
+        assertThat(buffer.lastOffset()).isEqualTo(5);
+        assertThat(buffer.readAfter(2)).extracting(ChangeEvent::offset).containsExactly(3L, 4L, 5L);
+        assertThat(buffer.readAfter(5)).isEmpty();
+        assertThat(buffer.isTruncated(0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should report truncation once the ring has wrapped past the reader")
+    void shouldReportTruncationAfterWrap() {
+        ChangeEventBuffer buffer = new ChangeEventBuffer(3);
+        for (long id = 1; id <= 7; id++) {
+            buffer.append(created(id));
+        }
+
+        assertThat(buffer.readAfter(0)).extracting(ChangeEvent::offset).containsExactly(5L, 6L, 7L);
+        assertThat(buffer.isTruncated(3)).isTrue();
+        assertThat(buffer.isTruncated(4)).isFalse();
+        assertThat(buffer.isTruncated(9)).isTrue();
+    }
+}
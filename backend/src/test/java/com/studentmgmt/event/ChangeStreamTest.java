@@ -0,0 +1,203 @@
+package com.studentmgmt.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeStreamTest {
+
+    private static final Pattern ID = Pattern.compile("^id:(\\d+)", Pattern.MULTILINE);
+    private static final Pattern NAME = Pattern.compile("^event:(\\w+)", Pattern.MULTILINE);
+
+    private ChangeStream stream;
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    private static EntityChangedEvent created(long id) {
+        return new EntityChangedEvent(EntityType.STUDENT, ChangeType.CREATED, List.of(id), null);
+    }
+
+    @Test
+    @DisplayName("should deliver every offset in order to a subscriber with concurrent publishers")
+    void shouldDeliverEveryOffsetWithConcurrentPublishers() throws Exception {
+        stream = new ChangeStream(4096, 2, Duration.ofSeconds(5));
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        stream.subscribe(0, emitter);
+
+        int perPublisher = 1000;
+        CountDownLatch start = new CountDownLatch(1);
+        Runnable publisher = () -> {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            for (int i = 0; i < perPublisher; i++) {
+                stream.onChange(created(i));
+            }
+        };
+        Thread first = new Thread(publisher);
+        Thread second = new Thread(publisher);
+        first.start();
+        second.start();
+        start.countDown();
+        first.join();
+        second.join();
+
+        long total = 2L * perPublisher;
+        assertThat(emitter.awaitCount(total)).isTrue();
+        assertThat(emitter.offsets).containsExactlyElementsOf(LongStream.rangeClosed(1, total).boxed().toList());
+    }
+
+    @Test
+    @DisplayName("should disconnect a stalled subscriber and free its sender for the others")
+    void shouldDropStalledSubscriberWithoutBlockingOthers() throws Exception {
+        // One sender thread: the fast subscriber only gets events once the stalled send is cut off
+        stream = new ChangeStream(4096, 1, Duration.ofMillis(200));
+        RecordingEmitter slow = new RecordingEmitter(new CountDownLatch(1));
+        RecordingEmitter fast = new RecordingEmitter(null);
+        stream.subscribe(0, slow);
+        stream.subscribe(0, fast);
+
+        for (long id = 1; id <= 50; id++) {
+            stream.onChange(created(id));
+        }
+
+        assertThat(fast.awaitCount(50)).isTrue();
+        assertThat(fast.offsets).containsExactlyElementsOf(LongStream.rangeClosed(1, 50).boxed().toList());
+        assertThat(fast.completed).isFalse();
+        assertThat(slow.awaitCompleted()).isTrue();
+        assertThat(slow.offsets).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should keep a subscriber that falls behind a burst connected")
+    void shouldKeepSubscriberThroughBurst() throws Exception {
+        stream = new ChangeStream(4096, 2, Duration.ofSeconds(5));
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        stream.subscribe(0, emitter);
+
+        for (long id = 1; id <= 3000; id++) {
+            stream.onChange(created(id));
+        }
+
+        assertThat(emitter.awaitCount(3000)).isTrue();
+        assertThat(emitter.completed).isFalse();
+    }
+
+    @Test
+    @DisplayName("should send a reset to a subscriber that falls out of the buffer and carry on")
+    void shouldResetSubscriberBehindBuffer() throws Exception {
+        stream = new ChangeStream(8, 1, Duration.ofSeconds(5));
+        CountDownLatch firstSend = new CountDownLatch(1);
+        RecordingEmitter emitter = new RecordingEmitter(firstSend, 1);
+        stream.subscribe(0, emitter);
+
+        stream.onChange(created(1));
+        assertThat(emitter.awaitBlocked()).isTrue();
+        for (long id = 2; id <= 20; id++) {
+            stream.onChange(created(id));
+        }
+        firstSend.countDown();
+        assertThat(emitter.awaitCount(2)).isTrue();
+        stream.onChange(created(21));
+
+        assertThat(emitter.awaitCount(3)).isTrue();
+        assertThat(emitter.offsets).containsExactly(1L, 20L, 21L);
+        assertThat(emitter.names).containsExactly("change", "reset", "change");
+        assertThat(emitter.completed).isFalse();
+    }
+
+    /**
+     * Records the offsets and event names it is asked to send. With a latch, the
+     * first {@code blockedSends} sends wait for it; an interrupted send fails as
+     * a broken connection would.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<Long> offsets = new CopyOnWriteArrayList<>();
+        private final List<String> names = new CopyOnWriteArrayList<>();
+        private final CountDownLatch block;
+        private final AtomicInteger blockedSends;
+        private volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch block) {
+            this(block, Integer.MAX_VALUE);
+        }
+
+        RecordingEmitter(CountDownLatch block, int blockedSends) {
+            super(0L);
+            this.block = block;
+            this.blockedSends = new AtomicInteger(blockedSends);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (block != null && blockedSends.getAndDecrement() > 0) {
+                try {
+                    block.await();
+                } catch (InterruptedException e) {
+                    throw new IOException("send interrupted");
+                }
+            }
+            builder.build().forEach(part -> {
+                String data = String.valueOf(part.getData());
+                Matcher id = ID.matcher(data);
+                if (id.find()) {
+                    offsets.add(Long.parseLong(id.group(1)));
+                }
+                Matcher name = NAME.matcher(data);
+                if (name.find()) {
+                    names.add(name.group(1));
+                }
+            });
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        boolean awaitBlocked() throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (blockedSends.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            return blockedSends.get() <= 0;
+        }
+
+        boolean awaitCompleted() throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!completed && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            return completed;
+        }
+
+        boolean awaitCount(long count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (offsets.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            return offsets.size() >= count;
+        }
+    }
+}
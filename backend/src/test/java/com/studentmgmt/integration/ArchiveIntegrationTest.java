@@ -0,0 +1,100 @@
+package com.studentmgmt.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import com.studentmgmt.repository.StudentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Student archive")
+class ArchiveIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private long createStudent(String firstName, String email, boolean active) throws Exception {
+        String body = mockMvc.perform(post("/api/students")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"" + firstName + "\",\"lastName\":\"Lee\",\"email\":\"" + email
+                                + "\",\"active\":" + active + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.<Number>read(body, "$.id").longValue();
+    }
+
+    private void archiveInactive() {
+        studentRepository.archiveInactive(LocalDateTime.now().plusDays(1), 100);
+    }
+
+    private int archivedCount() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM student_archive", Integer.class);
+    }
+
+    @Test
+    @DisplayName("should hide an archived student and move it back when toggled with includeArchived")
+    void shouldRoundTripThroughArchive() throws Exception {
+        long id = createStudent("Ann", "ann@test.com", false);
+        archiveInactive();
+
+        assertThat(archivedCount()).isEqualTo(1);
+        mockMvc.perform(get("/api/students/" + id).header("Authorization", bearer()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/students/" + id).param("includeArchived", "true")
+                        .header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("ann@test.com"))
+                .andExpect(jsonPath("$.active").value(false));
+
+        mockMvc.perform(patch("/api/students/" + id + "/toggle-active").param("includeArchived", "true")
+                        .header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.active").value(true));
+
+        assertThat(archivedCount()).isZero();
+        mockMvc.perform(get("/api/students/" + id).header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Ann"));
+    }
+
+    @Test
+    @DisplayName("should refuse to restore a student whose email was reused and keep it archived")
+    void shouldRejectRestoreAfterEmailReuse() throws Exception {
+        long id = createStudent("Ann", "ann@test.com", false);
+        archiveInactive();
+        createStudent("Other", "ann@test.com", true);
+
+        mockMvc.perform(patch("/api/students/" + id + "/toggle-active").param("includeArchived", "true")
+                        .header("Authorization", bearer()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(org.hamcrest.Matchers.containsString("ann@test.com")));
+
+        assertThat(archivedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should export archived students only with includeArchived")
+    void shouldExportArchivedRows() throws Exception {
+        createStudent("Ann", "ann@test.com", false);
+        archiveInactive();
+        createStudent("Bob", "bob@test.com", true);
+
+        String live = mockMvc.perform(get("/api/students/export/csv").header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(live).contains("bob@test.com").doesNotContain("ann@test.com");
+
+        String all = mockMvc.perform(get("/api/students/export/csv").param("includeArchived", "true")
+                        .header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(all).contains("bob@test.com", "ann@test.com");
+    }
+}
@@ -0,0 +1,50 @@
+package com.studentmgmt.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Staff soft delete")
+class SoftDeleteIntegrationTest extends PostgresIntegrationTest {
+
+    private long createStaff(String firstName, String email) throws Exception {
+        String body = mockMvc.perform(post("/api/staff")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"" + firstName + "\",\"lastName\":\"Lee\",\"email\":\"" + email + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.<Number>read(body, "$.id").longValue();
+    }
+
+    @Test
+    @DisplayName("should let a deleted staff member's email be reused")
+    void shouldReuseEmailAfterDelete() throws Exception {
+        long id = createStaff("Ann", "ann@test.com");
+        mockMvc.perform(delete("/api/staff/" + id).header("Authorization", bearer()))
+                .andExpect(status().isNoContent());
+
+        long reused = createStaff("Anna", "ann@test.com");
+
+        assertThat(reused).isNotEqualTo(id);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM tombstones WHERE entity_type = 'STAFF' AND entity_id = ?", Integer.class, id))
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should replace the email constraint with a unique index over live rows")
+    void shouldReplaceEmailConstraint() {
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT conname FROM pg_constraint WHERE contype = 'u' AND conrelid = 'staff'::regclass", String.class))
+                .doesNotContain("staff_email_key");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_indexes WHERE indexname = 'uq_staff_email_live'", Integer.class))
+                .isEqualTo(1);
+    }
+}
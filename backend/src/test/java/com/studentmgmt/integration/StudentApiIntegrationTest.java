@@ -1,7 +1,10 @@
 package com.studentmgmt.integration;
 
+import com.jayway.jsonpath.JsonPath;
 import com.studentmgmt.entity.Student;
+import com.studentmgmt.entity.Tombstone;
 import com.studentmgmt.repository.StudentRepository;
+import com.studentmgmt.repository.TombstoneRepository;
 import com.studentmgmt.repository.UserRepository;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,14 +35,19 @@ class StudentApiIntegrationTest {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
     @Autowired
     private UserRepository userRepository;
 
     private String jwtToken;
+    private String refreshToken;
 
     @BeforeEach
     void setUp() throws Exception {
         studentRepository.deleteAll();
+        tombstoneRepository.deleteAll();
 
         // Register a user and get JWT token
         userRepository.deleteAll();
@@ -52,6 +60,46 @@ class StudentApiIntegrationTest {
         String body = registerResult.getResponse().getContentAsString();
         // Extract token from JSON response
         jwtToken = body.split("\"token\":\"")[1].split("\"")[0];
+        refreshToken = body.split("\"refreshToken\":\"")[1].split("\"")[0];
+    }
+
+    @Nested
+    @DisplayName("POST /api/auth/refresh and /logout")
+    class TokenLifecycle {
+
+        @Test
+        @DisplayName("should rotate the refresh token and reject the used one")
+        void shouldRotateRefreshToken() throws Exception {
+            mockMvc.perform(post("/api/auth/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.token").isNotEmpty())
+                    .andExpect(jsonPath("$.refreshToken").value(org.hamcrest.Matchers.not(refreshToken)));
+
+            mockMvc.perform(post("/api/auth/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        @DisplayName("should stop accepting the access token after logout")
+        void shouldRevokeOnLogout() throws Exception {
+            mockMvc.perform(post("/api/auth/logout")
+                            .header("Authorization", "Bearer " + jwtToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/students/stats")
+                            .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isForbidden());
+            mockMvc.perform(post("/api/auth/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                    .andExpect(status().isUnauthorized());
+        }
     }
 
     @Nested
@@ -95,6 +143,278 @@ class StudentApiIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/students?fields=")
+    class FieldSelectionEndpoint {
+
+        @Test
+        @DisplayName("should serialize only the requested columns plus id")
+        void shouldReturnRequestedFieldsOnly() throws Exception {
+            studentRepository.save(Student.builder().firstName("John").lastName("Doe")
+                    .email("john@test.com").phone("123").active(true).build());
+
+            mockMvc.perform(get("/api/students")
+                            .param("fields", "firstName,email")
+                            .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(1))
+                    .andExpect(jsonPath("$.content[0].id").exists())
+                    .andExpect(jsonPath("$.content[0].firstName").value("John"))
+                    .andExpect(jsonPath("$.content[0].email").value("john@test.com"))
+                    .andExpect(jsonPath("$.content[0].phone").doesNotExist())
+                    .andExpect(jsonPath("$.content[0].lastName").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("should reject unknown field names")
+        void shouldRejectUnknownFields() throws Exception {
+            mockMvc.perform(get("/api/students")
+                            .param("fields", "firstName,createdAt")
+                            .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("Unknown field: createdAt"));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/students?cohort=")
+    class EnrollmentFilterEndpoint {
+
+        @BeforeEach
+        void seed() {
+            studentRepository.saveAll(List.of(
+                    Student.builder().firstName("A").lastName("One").email("a@test.com")
+                            .enrollmentDate(LocalDate.of(2023, 9, 1)).active(true).build(),
+                    Student.builder().firstName("B").lastName("Two").email("b@test.com")
+                            .enrollmentDate(LocalDate.of(2024, 1, 1)).active(true).build(),
+                    Student.builder().firstName("C").lastName("Three").email("c@test.com")
+                            .enrollmentDate(LocalDate.of(2024, 12, 31)).active(false).build()));
+        }
+
+        @Test
+        @DisplayName("should return only the students enrolled in that year")
+        void shouldFilterByCohort() throws Exception {
+            mockMvc.perform(get("/api/students")
+                            .param("cohort", "2024")
+                            .param("active", "true")
+                            .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(1))
+                    .andExpect(jsonPath("$.content[0].email").value("b@test.com"));
+        }
+
+        @Test
+        @DisplayName("should filter by an inclusive date range")
+        void shouldFilterByDateRange() throws Exception {
+            mockMvc.perform(get("/api/students")
+                            .param("enrolledFrom", "2023-09-01")
+                            .param("enrolledTo", "2024-01-01")
+                            .param("fields", "email")
+                            .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(2));
+        }
+
+        @Test
+        @DisplayName("should reject a cohort combined with explicit dates")
+        void shouldRejectCohortWithDates() throws Exception {
+            mockMvc.perform(get("/api/students")
+                            .param("cohort", "2024")
+                            .param("enrolledFrom", "2024-03-01")
+                            .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional writes (If-Match)")
+    class ConditionalWrites {
+
+        @Test
+        @DisplayName("should toggle atomically and bump the ETag")
+        void shouldToggleAndBumpVersion() throws Exception {
+            Student saved = studentRepository.save(Student.builder().firstName("A").lastName("One")
+                    .email("a@test.com").active(true).build());
+
+            mockMvc.perform(patch("/api/students/" + saved.getId() + "/toggle-active")
+                            .header("If-Match", "\"0\"")
+                            .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"1\""))
+                    .andExpect(jsonPath("$.active").value(false));
+        }
+
+        @Test
+        @DisplayName("should reject a PUT carrying a stale version with 412")
+        void shouldRejectStaleUpdate() throws Exception {
+            Student saved = studentRepository.save(Student.builder().firstName("A").lastName("One")
+                    .email("a@test.com").active(true).build());
+
+            mockMvc.perform(put("/api/students/" + saved.getId())
+                            .header("If-Match", "\"7\"")
+                            .header("Authorization", "Bearer " + jwtToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"firstName\":\"B\",\"lastName\":\"Two\",\"email\":\"a@test.com\"}"))
+                    .andExpect(status().isPreconditionFailed());
+
+            assertThat(studentRepository.findById(saved.getId()).orElseThrow().getFirstName()).isEqualTo("A");
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/students/changes")
+    class ChangesEndpoint {
+
+        @Test
+        @DisplayName("should page changed rows by watermark and report deletes")
+        void shouldReturnChangesAndTombstones() throws Exception {
+            List<Student> saved = studentRepository.saveAll(List.of(
+                    Student.builder().firstName("A").lastName("One").email("a@test.com").build(),
+                    Student.builder().firstName("B").lastName("Two").email("b@test.com").build(),
+                    Student.builder().firstName("C").lastName("Three").email("c@test.com").build()));
+
+            mockMvc.perform(delete("/api/students/" + saved.get(2).getId())
+                            .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/api/students/changes")
+                            .param("since", "2000-01-01T00:00:00")
+                            .param("limit", "1")
+                            .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.changed.length()").value(1))
+                    .andExpect(jsonPath("$.hasMore").value(true));
+
+            String caughtUp = mockMvc.perform(get("/api/students/changes")
+                            .param("since", "2000-01-01T00:00:00")
+                            .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.changed.length()").value(2))
+                    .andExpect(jsonPath("$.deleted[0]").value(saved.get(2).getId()))
+                    .andExpect(jsonPath("$.hasMore").value(false))
+                    .andReturn().getResponse().getContentAsString();
+
+            // The watermark moves past the tombstone, so it is not reported again
+            mockMvc.perform(get("/api/students/changes")
+                            .param("since", JsonPath.<String>read(caughtUp, "$.nextSince"))
+                            .param("afterId", String.valueOf(JsonPath.<Number>read(caughtUp, "$.nextAfterId")))
+                            .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.changed.length()").value(0))
+                    .andExpect(jsonPath("$.deleted.length()").value(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("DELETE /api/students and POST /api/students/bulk/delete")
+    class SoftDelete {
+
+        private List<Long> tombstonedIds() {
+            return tombstoneRepository.findAll().stream().map(Tombstone::getEntityId).toList();
+        }
+
+        @Test
+        @DisplayName("should tombstone a row once and report a second delete as not found")
+        void shouldTombstoneOnce() throws Exception {
+            Student saved = studentRepository.save(
+                    Student.builder().firstName("A").lastName("One").email("a@test.com").build());
+
+            mockMvc.perform(delete("/api/students/" + saved.getId())
+                            .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isNoContent());
+            mockMvc.perform(delete("/api/students/" + saved.getId())
+                            .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isBadRequest());
+
+            assertThat(tombstonedIds()).containsExactly(saved.getId());
+        }
+
+        @Test
+        @DisplayName("should tombstone only the rows a bulk delete actually removed")
+        void shouldSkipDeletedAndUnknownIds() throws Exception {
+            List<Student> saved = studentRepository.saveAll(List.of(
+                    Student.builder().firstName("A").lastName("One").email("a@test.com").build(),
+                    Student.builder().firstName("B").lastName("Two").email("b@test.com").build()));
+            Long live = saved.get(0).getId();
+            Long alreadyDeleted = saved.get(1).getId();
+            mockMvc.perform(delete("/api/students/" + alreadyDeleted)
+                            .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(post("/api/students/bulk/delete")
+                            .header("Authorization", "Bearer " + jwtToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\":[" + live + "," + alreadyDeleted + "," + Long.MAX_VALUE + "]}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Deleted 1 students"));
+
+            assertThat(tombstonedIds()).containsExactlyInAnyOrder(live, alreadyDeleted);
+            assertThat(studentRepository.findById(live)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/students/bulk/upsert")
+    class BulkUpsertEndpoint {
+
+        @Test
+        @DisplayName("should create, update by email and report invalid items individually")
+        void shouldReportPerItemStatus() throws Exception {
+            Student existing = studentRepository.save(
+                    Student.builder().firstName("Old").lastName("Name").email("keep@test.com").active(true).build());
+
+            mockMvc.perform(post("/api/students/bulk/upsert")
+                            .header("Authorization", "Bearer " + jwtToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    [{"firstName":"New","lastName":"One","email":"new@test.com"},
+                                     {"firstName":"Bad","lastName":"Email","email":"not-an-email"},
+                                     {"firstName":"Renamed","lastName":"Name","email":"keep@test.com"}]"""))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created").value(1))
+                    .andExpect(jsonPath("$.updated").value(1))
+                    .andExpect(jsonPath("$.failed").value(1))
+                    .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+                    .andExpect(jsonPath("$.items[1].status").value("FAILED"))
+                    .andExpect(jsonPath("$.items[2].id").value(existing.getId()));
+
+            assertThat(studentRepository.findById(existing.getId()).orElseThrow().getFirstName()).isEqualTo("Renamed");
+        }
+
+        @Test
+        @DisplayName("should only change active when an element sets it")
+        void shouldKeepActiveWhenOmitted() throws Exception {
+            Student inactive = studentRepository.save(
+                    Student.builder().firstName("Old").lastName("Name").email("off@test.com").active(false).build());
+
+            mockMvc.perform(post("/api/students/bulk/upsert")
+                            .header("Authorization", "Bearer " + jwtToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    [{"firstName":"Renamed","lastName":"Name","email":"off@test.com"}]"""))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.updated").value(1));
+
+            assertThat(studentRepository.findById(inactive.getId()).orElseThrow().isActive()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should accept newline-delimited JSON")
+        void shouldAcceptNdjson() throws Exception {
+            mockMvc.perform(post("/api/students/bulk/upsert")
+                            .header("Authorization", "Bearer " + jwtToken)
+                            .contentType("application/x-ndjson")
+                            .content("""
+                                    {"firstName":"A","lastName":"One","email":"a1@test.com"}
+                                    {"firstName":"B","lastName":"Two","email":"b2@test.com"}
+                                    """))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created").value(2));
+
+            assertThat(studentRepository.count()).isEqualTo(2);
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/students/export/csv")
     class ExportCsvEndpoint {
@@ -0,0 +1,57 @@
+package com.studentmgmt.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Student partitions")
+class StudentPartitionsIntegrationTest extends PostgresIntegrationTest {
+
+    private long createStudent(String email, LocalDate enrolled) throws Exception {
+        String body = mockMvc.perform(post("/api/students")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Ann\",\"lastName\":\"Lee\",\"email\":\"" + email
+                                + "\",\"enrollmentDate\":\"" + enrolled + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.<Number>read(body, "$.id").longValue();
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Integer.class);
+    }
+
+    @Test
+    @DisplayName("should move a year's rows out of the default partition when creating its partition")
+    void shouldMoveDefaultRowsIntoNewPartition() throws Exception {
+        int year = LocalDate.now().getYear() + 5;
+        jdbcTemplate.execute("DROP TABLE IF EXISTS students_y" + year);
+        long id = createStudent("ann@test.com", LocalDate.of(year, 3, 1));
+        assertThat(count("students_default")).isEqualTo(1);
+
+        jdbcTemplate.queryForList("SELECT public.ensure_student_partition('public', ?)", year);
+
+        assertThat(count("students_default")).isZero();
+        assertThat(count("students_y" + year)).isEqualTo(1);
+        mockMvc.perform(get("/api/students/" + id).header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("ann@test.com"));
+        // The moved row keeps its email claim
+        mockMvc.perform(post("/api/students")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Bob\",\"lastName\":\"Ray\",\"email\":\"ann@test.com\"}"))
+                .andExpect(status().is4xxClientError());
+        // New rows of that year go straight to the partition
+        createStudent("bob@test.com", LocalDate.of(year, 6, 1));
+        assertThat(count("students_y" + year)).isEqualTo(2);
+    }
+}
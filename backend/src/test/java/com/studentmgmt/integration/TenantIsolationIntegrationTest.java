@@ -0,0 +1,66 @@
+package com.studentmgmt.integration;
+
+import com.studentmgmt.dto.StudentDto;
+import com.studentmgmt.service.StudentService;
+import com.studentmgmt.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Schema-per-tenant isolation")
+@TestPropertySource(properties = {"tenancy.enabled=true", "tenancy.tenants=school_a,school_b"})
+class TenantIsolationIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @BeforeEach
+    void clearTenantSchemas() {
+        jdbcTemplate.execute("TRUNCATE school_a.students, school_a.student_emails, "
+                + "school_b.students, school_b.student_emails RESTART IDENTITY");
+    }
+
+    private StudentDto student(String firstName, String email) {
+        StudentDto dto = new StudentDto();
+        dto.setFirstName(firstName);
+        dto.setLastName("Lee");
+        dto.setEmail(email);
+        return dto;
+    }
+
+    private List<String> emailsSeenBy(String tenant) {
+        return TenantContext.callAs(tenant, () -> studentService.getAll(null, null, null, PageRequest.of(0, 20))
+                .map(StudentDto::getEmail).getContent());
+    }
+
+    @Test
+    @DisplayName("should keep each school's students in its own schema")
+    void shouldIsolateTenants() {
+        TenantContext.callAs("school_a", () -> studentService.create(student("Ann", "ann@test.com")));
+        // Emails are unique per school, not across schools
+        TenantContext.callAs("school_b", () -> studentService.create(student("Ann", "ann@test.com")));
+        TenantContext.callAs("school_b", () -> studentService.create(student("Bob", "bob@test.com")));
+
+        assertThat(emailsSeenBy("school_a")).containsExactly("ann@test.com");
+        assertThat(emailsSeenBy("school_b")).containsExactlyInAnyOrder("ann@test.com", "bob@test.com");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM school_a.students", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM school_b.students", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should leave pooled connections on public after tenant work")
+    void shouldResetSearchPathForSharedTables() {
+        TenantContext.callAs("school_a", () -> studentService.create(student("Ann", "ann@test.com")));
+
+        // Work without a tenant reuses the pooled connections and must see public only
+        assertThat(emailsSeenBy(null)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM public.students", Integer.class)).isZero();
+    }
+}
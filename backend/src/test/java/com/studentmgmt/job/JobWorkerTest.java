@@ -0,0 +1,113 @@
+package com.studentmgmt.job;
+
+import com.studentmgmt.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobWorkerTest {
+
+    private final JobQueue queue = mock(JobQueue.class);
+    private JobWorker worker;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (worker != null) {
+            worker.shutdown();
+        }
+    }
+
+    private JobWorker worker(JobHandler handler, boolean enabled) {
+        worker = new JobWorker(queue, List.of(handler), new SimpleMeterRegistry(), enabled, 2,
+                Duration.ofSeconds(60), Duration.ofSeconds(30), Duration.ofDays(7));
+        return worker;
+    }
+
+    private static JobHandler handler(String type, ThrowingRunner body) {
+        return new JobHandler() {
+            @Override
+            public String type() {
+                return type;
+            }
+
+            @Override
+            public void run(Job job) throws Exception {
+                body.run(job);
+            }
+        };
+    }
+
+    interface ThrowingRunner {
+        void run(Job job) throws Exception;
+    }
+
+    @Test
+    @DisplayName("should run a claimed job as its tenant and mark it done")
+    void shouldRunClaimedJob() throws InterruptedException {
+        Job job = new Job(1, "purge", null, "school_a", 1, 3);
+        AtomicReference<String> tenant = new AtomicReference<>();
+        CountDownLatch ran = new CountDownLatch(1);
+        when(queue.claim(anyString(), anyCollection(), anyInt())).thenReturn(List.of(job));
+        when(queue.complete(eq(job), anyString())).thenReturn(true);
+
+        worker(handler("purge", j -> {
+            tenant.set(TenantContext.get());
+            ran.countDown();
+        }), true).poll();
+
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(queue, timeout(5000)).complete(eq(job), anyString());
+        assertThat(tenant.get()).isEqualTo("school_a");
+    }
+
+    @Test
+    @DisplayName("should hand a failed job back with a growing retry delay")
+    void shouldRetryFailedJob() {
+        Job job = new Job(2, "purge", null, null, 2, 3);
+        when(queue.claim(anyString(), anyCollection(), anyInt())).thenReturn(List.of(job));
+
+        worker(handler("purge", j -> {
+            throw new IllegalStateException("boom");
+        }), true).poll();
+
+        verify(queue, timeout(5000)).fail(eq(job), anyString(), any(String.class), eq(Duration.ofSeconds(60)));
+        verify(queue, never()).complete(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("should claim nothing when this replica does not run jobs")
+    void shouldNotClaimWhenDisabled() {
+        worker(handler("purge", j -> { }), false).poll();
+
+        verify(queue, never()).claim(anyString(), anyCollection(), anyInt());
+    }
+
+    @Test
+    @DisplayName("should double the retry delay per attempt up to a cap")
+    void shouldCapBackoff() {
+        JobWorker w = worker(handler("purge", j -> { }), true);
+
+        assertThat(w.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(w.backoff(3)).isEqualTo(Duration.ofSeconds(120));
+        assertThat(w.backoff(50)).isEqualTo(Duration.ofSeconds(30 * 64));
+    }
+}
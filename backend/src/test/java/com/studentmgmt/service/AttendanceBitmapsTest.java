@@ -0,0 +1,66 @@
+package com.studentmgmt.service;
+
+import com.studentmgmt.entity.Attendance;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttendanceBitmapsTest {
+
+    @Test
+    @DisplayName("should keep the day counters equal to the bitsets when days are marked again")
+    void shouldKeepCountersInStep() {
+        Attendance row = Attendance.builder().studentId(1L).build();
+
+        AttendanceBitmaps.mark(row, 0, true);
+        AttendanceBitmaps.mark(row, 3, false);
+        AttendanceBitmaps.mark(row, 200, true);
+        AttendanceBitmaps.mark(row, 0, false);
+        AttendanceBitmaps.mark(row, 3, false);
+
+        assertThat(row.getMarkedDays()).isEqualTo(3).isEqualTo(BitSet.valueOf(row.getMarked()).cardinality());
+        assertThat(row.getPresentDays()).isEqualTo(1).isEqualTo(BitSet.valueOf(row.getPresent()).cardinality());
+        assertThat(BitSet.valueOf(row.getPresent()).get(200)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should slice a range of days down to start at bit 0")
+    void shouldSlice() {
+        BitSet bits = new BitSet();
+        bits.set(10);
+        bits.set(19);
+        bits.set(20);
+
+        BitSet slice = AttendanceBitmaps.slice(bits.toByteArray(), 10, 20);
+
+        assertThat(slice.stream().toArray()).containsExactly(0, 9);
+    }
+
+    @Test
+    @DisplayName("should count set bits per day like a row-by-row scan")
+    void shouldCountPerDay() {
+        Random random = new Random(42);
+        int days = 180;
+        List<BitSet> rows = new ArrayList<>();
+        int[] expected = new int[days];
+        for (int student = 0; student < 1000; student++) {
+            BitSet row = new BitSet(days);
+            for (int day = 0; day < days; day++) {
+                if (random.nextInt(10) < 9) {
+                    row.set(day);
+                    expected[day]++;
+                }
+            }
+            rows.add(row);
+        }
+
+        assertThat(AttendanceBitmaps.countPerDay(rows, days)).containsExactly(expected);
+        assertThat(AttendanceBitmaps.countPerDay(List.of(), days)).containsOnly(0);
+    }
+}
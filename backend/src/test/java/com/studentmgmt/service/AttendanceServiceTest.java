@@ -0,0 +1,124 @@
+package com.studentmgmt.service;
+
+import com.studentmgmt.dto.AttendanceMarkRequest;
+import com.studentmgmt.dto.AttendanceMarkResult;
+import com.studentmgmt.dto.DailyAttendance;
+import com.studentmgmt.entity.Attendance;
+import com.studentmgmt.exception.ConflictException;
+import com.studentmgmt.repository.AttendanceRepository;
+import com.studentmgmt.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceServiceTest {
+
+    private static final LocalDate TERM_START = LocalDate.of(2025, 8, 1);
+    private static final LocalDate DAY = LocalDate.of(2025, 8, 11);
+
+    @Mock
+    private AttendanceRepository attendanceRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private ReadOnlyTransactions readOnly;
+
+    private AttendanceService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AttendanceService(attendanceRepository, studentRepository, readOnly, 8);
+        lenient().when(readOnly.execute(any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(0).get());
+    }
+
+    private static AttendanceMarkRequest request(Long... absent) {
+        AttendanceMarkRequest request = new AttendanceMarkRequest();
+        request.setDate(DAY);
+        request.setStudentClass("10");
+        request.setAbsentIds(List.of(absent));
+        return request;
+    }
+
+    @Test
+    @DisplayName("should create the term rows of a first mark and write them in one flush")
+    void shouldCreateTermRowsOnFirstMark() {
+        when(studentRepository.findActiveIdsInClass("10", null)).thenReturn(List.of(1L, 2L, 3L));
+        when(attendanceRepository.findByTermStartAndStudentIdIn(eq(TERM_START), anyCollection())).thenReturn(List.of());
+
+        AttendanceMarkResult result = service.mark(request(2L));
+
+        assertThat(result.marked()).isEqualTo(3);
+        assertThat(result.present()).isEqualTo(2);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Attendance>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(attendanceRepository).saveAllAndFlush(saved.capture());
+        assertThat(saved.getValue()).hasSize(3).allSatisfy(row -> {
+            assertThat(row.getTermStart()).isEqualTo(TERM_START);
+            assertThat(BitSet.valueOf(row.getMarked()).get(10)).isTrue();
+            assertThat(BitSet.valueOf(row.getPresent()).get(10)).isEqualTo(row.getStudentId() != 2L);
+        });
+    }
+
+    @Test
+    @DisplayName("should report a concurrent first mark as a conflict")
+    void shouldMapUniqueViolationToConflict() {
+        when(studentRepository.findActiveIdsInClass("10", null)).thenReturn(List.of(1L));
+        when(attendanceRepository.findByTermStartAndStudentIdIn(eq(TERM_START), anyCollection())).thenReturn(List.of());
+        when(attendanceRepository.saveAllAndFlush(anyCollection()))
+                .thenThrow(new DataIntegrityViolationException("uq_attendance_term_student"));
+
+        assertThatThrownBy(() -> service.mark(request()))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("retry");
+    }
+
+    @Test
+    @DisplayName("should reject absentees who are not active students of the class")
+    void shouldRejectUnknownAbsentees() {
+        when(studentRepository.findActiveIdsInClass("10", null)).thenReturn(List.of(1L, 2L));
+
+        assertThatThrownBy(() -> service.mark(request(9L))).hasMessageContaining("[9]");
+        verify(attendanceRepository, never()).saveAllAndFlush(anyCollection());
+    }
+
+    @Test
+    @DisplayName("should sum the stored term rows of the class per day")
+    void shouldSummariseClassPerDay() {
+        List<Attendance> rows = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            Attendance row = Attendance.builder().studentId(id).termStart(TERM_START).build();
+            AttendanceBitmaps.mark(row, 10, id != 3);
+            rows.add(row);
+        }
+        when(studentRepository.findActiveIdsInClass("10", null)).thenReturn(List.of(1L, 2L, 3L));
+        when(attendanceRepository.findByTermStartAndStudentIdIn(eq(TERM_START), anyCollection())).thenReturn(rows);
+
+        List<DailyAttendance> summary = service.classSummary("10", null, DAY.minusDays(1), DAY);
+
+        assertThat(summary).containsExactly(
+                new DailyAttendance(DAY.minusDays(1), 0, 0),
+                new DailyAttendance(DAY, 3, 2));
+    }
+}
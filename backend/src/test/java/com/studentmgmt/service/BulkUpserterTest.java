@@ -0,0 +1,178 @@
+package com.studentmgmt.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentmgmt.dto.BulkUpsertResult;
+import com.studentmgmt.dto.StudentDto;
+import com.studentmgmt.entity.Student;
+import com.studentmgmt.event.ChangeType;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BulkUpserterTest {
+
+    private final Map<Long, Student> table = new LinkedHashMap<>();
+    private final List<Published> published = new ArrayList<>();
+    private BulkUpserter upserter;
+
+    private record Published(ChangeType type, List<Long> ids, StudentDto data, StudentDto before) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        TransactionTemplate transactions = mock(TransactionTemplate.class);
+        when(transactions.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        upserter = new BulkUpserter(new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(), transactions, 100, 1000);
+    }
+
+    private BulkUpsertResult upsert(String json) throws Exception {
+        return upserter.run(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), StudentDto.class,
+                new InMemoryTarget());
+    }
+
+    @Test
+    @DisplayName("should publish one update per record with its prior state")
+    void shouldPublishBeforeAndAfterForUpdates() throws Exception {
+        table.put(1L, Student.builder().id(1L).version(0L).firstName("Ann").lastName("Lee").email("ann@test.com").build());
+
+        BulkUpsertResult result = upsert("""
+                [{"firstName":"Anna","lastName":"Lee","email":"ann@test.com"},
+                 {"firstName":"Bob","lastName":"Ray","email":"bob@test.com"}]""");
+
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(result.updated()).isEqualTo(1);
+        assertThat(published).extracting(Published::type).containsExactly(ChangeType.CREATED, ChangeType.UPDATED);
+        Published update = published.get(1);
+        assertThat(update.ids()).containsExactly(1L);
+        assertThat(update.before().getFirstName()).isEqualTo("Ann");
+        assertThat(update.data().getFirstName()).isEqualTo("Anna");
+    }
+
+    @Test
+    @DisplayName("should keep active unless the element sets it")
+    void shouldOnlyApplyActiveWhenSent() throws Exception {
+        table.put(1L, Student.builder().id(1L).version(0L).firstName("Ann").lastName("Lee").email("ann@test.com")
+                .active(false).build());
+        table.put(2L, Student.builder().id(2L).version(0L).firstName("Bob").lastName("Ray").email("bob@test.com")
+                .active(false).build());
+
+        upsert("""
+                [{"firstName":"Ann","lastName":"Lee","email":"ann@test.com"},
+                 {"firstName":"Bob","lastName":"Ray","email":"bob@test.com","active":true}]""");
+
+        assertThat(table.get(1L).isActive()).isFalse();
+        assertThat(table.get(2L).isActive()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should fail elements naming an unknown id or a stale version")
+    void shouldReportUnknownAndStaleRecords() throws Exception {
+        table.put(1L, Student.builder().id(1L).version(3L).firstName("Ann").lastName("Lee").email("ann@test.com").build());
+
+        BulkUpsertResult result = upsert("""
+                [{"id":9,"firstName":"X","lastName":"Y","email":"x@test.com"},
+                 {"id":1,"version":2,"firstName":"Ann","lastName":"Lee","email":"ann@test.com"}]""");
+
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.items().get(0).error()).contains("not found");
+        assertThat(result.items().get(1).error()).contains("modified since version 2");
+        assertThat(published).isEmpty();
+    }
+
+    /** Stands in for the repository-backed target of the student service. */
+    private final class InMemoryTarget implements BulkUpserter.Target<StudentDto, Student> {
+
+        @Override
+        public String name() {
+            return "Student";
+        }
+
+        @Override
+        public Long id(StudentDto dto) {
+            return dto.getId();
+        }
+
+        @Override
+        public Long version(StudentDto dto) {
+            return dto.getVersion();
+        }
+
+        @Override
+        public String email(StudentDto dto) {
+            return dto.getEmail();
+        }
+
+        @Override
+        public List<Student> findAllByIdIn(List<Long> ids) {
+            return ids.stream().map(table::get).filter(Objects::nonNull).toList();
+        }
+
+        @Override
+        public List<Student> findAllByEmailIn(Collection<String> emails) {
+            return table.values().stream().filter(s -> emails.contains(s.getEmail())).toList();
+        }
+
+        @Override
+        public Student toEntity(StudentDto dto) {
+            return Student.builder().firstName(dto.getFirstName()).lastName(dto.getLastName()).email(dto.getEmail())
+                    .active(!Boolean.FALSE.equals(dto.getActive())).build();
+        }
+
+        @Override
+        public void apply(StudentDto dto, Student student) {
+            student.setFirstName(dto.getFirstName());
+            student.setLastName(dto.getLastName());
+            if (dto.getActive() != null) {
+                student.setActive(dto.getActive());
+            }
+        }
+
+        @Override
+        public void saveAllAndFlush(List<Student> entities) {
+            for (Student student : entities) {
+                if (student.getId() == null) {
+                    student.setId(table.size() + 1L);
+                    student.setVersion(0L);
+                } else {
+                    student.setVersion(student.getVersion() + 1);
+                }
+                table.put(student.getId(), student);
+            }
+        }
+
+        @Override
+        public StudentDto toDto(Student student) {
+            StudentDto dto = new StudentDto();
+            dto.setId(student.getId());
+            dto.setVersion(student.getVersion());
+            dto.setFirstName(student.getFirstName());
+            dto.setLastName(student.getLastName());
+            dto.setEmail(student.getEmail());
+            dto.setActive(student.isActive());
+            return dto;
+        }
+
+        @Override
+        public void publish(ChangeType type, List<Long> ids, StudentDto data, StudentDto before) {
+            published.add(new Published(type, ids, data, before));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.studentmgmt.service;
+
+import com.studentmgmt.dto.BatchGetResult;
+import com.studentmgmt.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdBatchLoaderTest {
+
+    private record Row(Long id) {
+    }
+
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+    private final Set<String> tenants = ConcurrentHashMap.newKeySet();
+    private IdBatchLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        ReadOnlyTransactions readOnly = mock(ReadOnlyTransactions.class);
+        when(readOnly.execute(any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(0).get());
+        loader = new IdBatchLoader(readOnly, 2, 10, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loader.shutdown();
+    }
+
+    /** Returns the existing (even) ids of a batch in reverse, as an IN query may. */
+    private final Function<List<Long>, List<Row>> evenIds = batch -> {
+        threads.add(Thread.currentThread().getName());
+        tenants.add(String.valueOf(TenantContext.get()));
+        return batch.stream().distinct().filter(id -> id % 2 == 0).sorted((a, b) -> Long.compare(b, a))
+                .map(Row::new).toList();
+    };
+
+    private BatchGetResult<Long> getBatch(List<Long> ids, boolean parallel) {
+        return loader.getBatch(ids, evenIds, Row::id, Row::id, parallel);
+    }
+
+    @Test
+    @DisplayName("should return found records in request order and list unknown ids as missing")
+    void shouldFollowRequestOrder() {
+        BatchGetResult<Long> result = getBatch(List.of(6L, 3L, 2L, 6L, 8L, 5L), false);
+
+        assertThat(result.found()).containsExactly(6L, 2L, 8L);
+        assertThat(result.missing()).containsExactly(3L, 5L);
+        assertThat(threads).containsOnly(Thread.currentThread().getName());
+    }
+
+    @Test
+    @DisplayName("should load batches on the pool in the caller's tenant and keep request order")
+    void shouldLoadInParallel() {
+        BatchGetResult<Long> result = TenantContext.callAs("school_a",
+                () -> getBatch(List.of(10L, 9L, 4L, 7L, 2L, 1L, 8L), true));
+
+        assertThat(result.found()).containsExactly(10L, 4L, 2L, 8L);
+        assertThat(result.missing()).containsExactly(9L, 7L, 1L);
+        assertThat(threads).allMatch(name -> name.startsWith("batch-get-"));
+        assertThat(tenants).containsOnly("school_a");
+    }
+
+    @Test
+    @DisplayName("should reject more ids than the configured maximum")
+    void shouldLimitIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 11).boxed().toList();
+
+        assertThatThrownBy(() -> getBatch(ids, true)).hasMessageContaining("At most 10 ids");
+    }
+}
@@ -0,0 +1,45 @@
+package com.studentmgmt.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdBatchesTest {
+
+    @Test
+    @DisplayName("should split into full chunks and pad the remainder to a power of two")
+    void shouldSplitAndPad() {
+        List<Long> ids = LongStream.rangeClosed(1, 1205).boxed().toList();
+
+        List<List<Long>> batches = IdBatches.split(ids, 500);
+
+        assertThat(batches).extracting(List::size).containsExactly(500, 500, 256);
+        assertThat(batches.get(2).subList(0, 205)).isEqualTo(ids.subList(1000, 1205));
+        assertThat(batches.get(2).subList(205, 256)).containsOnly(1205L);
+    }
+
+    @Test
+    @DisplayName("should collapse duplicate ids before batching")
+    void shouldDeduplicate() {
+        List<List<Long>> batches = IdBatches.split(List.of(3L, 1L, 3L, 2L, 1L), 500);
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactly(3L, 1L, 2L, 2L);
+    }
+
+    @Test
+    @DisplayName("should only produce a small set of batch sizes")
+    void shouldUseStableSizes() {
+        assertThat(IdBatches.paddedSize(1, 500)).isEqualTo(1);
+        assertThat(IdBatches.paddedSize(2, 500)).isEqualTo(2);
+        assertThat(IdBatches.paddedSize(3, 500)).isEqualTo(4);
+        assertThat(IdBatches.paddedSize(64, 500)).isEqualTo(64);
+        assertThat(IdBatches.paddedSize(65, 500)).isEqualTo(128);
+        assertThat(IdBatches.paddedSize(300, 500)).isEqualTo(500);
+        assertThat(IdBatches.paddedSize(500, 500)).isEqualTo(500);
+    }
+}
@@ -3,6 +3,7 @@ package com.studentmgmt.service;
 import com.studentmgmt.dto.StudentDto;
 import com.studentmgmt.entity.Student;
 import com.studentmgmt.repository.StudentRepository;
+import com.studentmgmt.repository.TombstoneRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.io.ByteArrayInputStream;
 import java.io.PrintWriter;
@@ -19,6 +21,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -29,9 +32,23 @@ class StudentServiceTest {
     @Mock
     private StudentRepository studentRepository;
 
+    @Mock
+    private TombstoneRepository tombstoneRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ReadOnlyTransactions readOnly;
+
     @InjectMocks
     private StudentService studentService;
 
+    @BeforeEach
+    void runReadOnlyWorkInline() {
+        lenient().when(readOnly.execute(any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(0).get());
+    }
+
     @Nested
     @DisplayName("getStats()")
     class GetStats {
@@ -0,0 +1,87 @@
+package com.studentmgmt.tenant;
+
+import com.studentmgmt.exception.ServiceBusyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class SchemaPerTenantConnectionProviderTest {
+
+    private Connection physical;
+    private Statement statement;
+    private SchemaPerTenantConnectionProvider provider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        physical = mock(Connection.class);
+        statement = mock(Statement.class);
+        when(dataSource.getConnection()).thenReturn(physical);
+        when(physical.createStatement()).thenReturn(statement);
+        provider = new SchemaPerTenantConnectionProvider(dataSource, 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("should set search_path only when the connection is first used")
+    void shouldSetSearchPathLazily() throws Exception {
+        Connection connection = provider.getConnection("school_a");
+        connection.setAutoCommit(false);
+        connection.setReadOnly(true);
+
+        verify(statement, never()).execute(anyString());
+
+        connection.prepareStatement("SELECT 1");
+
+        InOrder order = inOrder(statement, physical);
+        order.verify(statement).execute("SET search_path TO school_a, public");
+        order.verify(physical).prepareStatement("SELECT 1");
+    }
+
+    @Test
+    @DisplayName("should reset search_path to public before returning a used connection")
+    void shouldResetSearchPathOnRelease() throws Exception {
+        Connection connection = provider.getConnection("school_a");
+        connection.prepareStatement("SELECT 1");
+
+        provider.releaseConnection("school_a", connection);
+
+        InOrder order = inOrder(statement, physical);
+        order.verify(statement).execute("SET search_path TO school_a, public");
+        order.verify(statement).execute("SET search_path TO public");
+        order.verify(physical).close();
+        assertThat(provider.inUse("school_a")).isZero();
+    }
+
+    @Test
+    @DisplayName("should not touch an unused connection on release")
+    void shouldSkipResetForUnusedConnection() throws Exception {
+        Connection connection = provider.getConnection("school_a");
+
+        provider.releaseConnection("school_a", connection);
+
+        verify(statement, never()).execute(anyString());
+        verify(physical).close();
+    }
+
+    @Test
+    @DisplayName("should fail with ServiceBusyException once a tenant's share is used up")
+    void shouldLimitConnectionsPerTenant() throws Exception {
+        Connection held = provider.getConnection("school_a");
+
+        assertThatThrownBy(() -> provider.getConnection("school_a")).isInstanceOf(ServiceBusyException.class);
+        assertThat(provider.getConnection("school_b")).isNotNull();
+
+        provider.releaseConnection("school_a", held);
+        assertThat(provider.getConnection("school_a")).isNotNull();
+    }
+}
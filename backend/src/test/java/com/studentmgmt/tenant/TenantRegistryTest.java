@@ -0,0 +1,44 @@
+package com.studentmgmt.tenant;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TenantRegistryTest {
+
+    @Test
+    @DisplayName("should know only the configured tenants")
+    void shouldRejectUnknownTenants() {
+        TenantRegistry registry = new TenantRegistry(true, List.of("school_a", " school_b ", ""));
+
+        assertThat(registry.tenants()).containsExactlyInAnyOrder("school_a", "school_b");
+        assertThat(registry.isKnown("school_a")).isTrue();
+        assertThat(registry.isKnown("school_c")).isFalse();
+        assertThat(registry.isKnown("public")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should refuse ids that are not safe schema names")
+    void shouldRejectInvalidIds() {
+        for (String id : List.of("public", "pg_catalog", "School", "a;drop table users", "1abc")) {
+            assertThatThrownBy(() -> new TenantRegistry(true, List.of(id)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining(id);
+        }
+    }
+
+    @Test
+    @DisplayName("should have no tenants when disabled and map no tenant to public")
+    void shouldIgnoreTenantsWhenDisabled() {
+        TenantRegistry registry = new TenantRegistry(false, List.of("school_a"));
+
+        assertThat(registry.isEnabled()).isFalse();
+        assertThat(registry.tenants()).isEmpty();
+        assertThat(TenantRegistry.schema(null)).isEqualTo("public");
+        assertThat(TenantRegistry.schema("school_a")).isEqualTo("school_a");
+    }
+}
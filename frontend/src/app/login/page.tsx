@@ -33,7 +33,7 @@ export default function LoginPage() {
         name: res.data.name,
         email: res.data.email,
         role: res.data.role,
-      });
+      }, res.data.refreshToken);
       router.push("/dashboard");
     } catch (err: any) {
       setError(err.response?.data?.error || "Something went wrong");
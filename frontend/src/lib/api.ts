@@ -13,15 +13,55 @@ api.interceptors.request.use((config) => {
   return config;
 });
 
+// Access tokens are short-lived. On a 401/403 from a protected route, renew
+// once via the refresh token and replay the request; concurrent failures share
+// one refresh so the rotated refresh token is never presented twice.
+let refreshing: Promise<string | null> | null = null;
+
+function clearSession() {
+  localStorage.removeItem("token");
+  localStorage.removeItem("refreshToken");
+  localStorage.removeItem("user");
+  window.location.href = "/login";
+}
+
+function refreshAccessToken(): Promise<string | null> {
+  if (!refreshing) {
+    const refreshToken = localStorage.getItem("refreshToken");
+    refreshing = (refreshToken
+      ? axios
+          .post(`${api.defaults.baseURL}/auth/refresh`, { refreshToken })
+          .then((res) => {
+            localStorage.setItem("token", res.data.token);
+            localStorage.setItem("refreshToken", res.data.refreshToken);
+            return res.data.token as string;
+          })
+          .catch(() => null)
+      : Promise.resolve(null)
+    ).finally(() => {
+      refreshing = null;
+    });
+  }
+  return refreshing;
+}
+
 api.interceptors.response.use(
   (res) => res,
-  (error) => {
-    // Only redirect on 401 for protected routes — not for auth endpoints where
-    // 401 means bad credentials and the component handles the error itself.
-    if (error.response?.status === 401 && !error.config?.url?.includes("/auth/")) {
-      localStorage.removeItem("token");
-      localStorage.removeItem("user");
-      window.location.href = "/login";
+  async (error) => {
+    const config = error.config;
+    const status = error.response?.status;
+    // Auth endpoints report bad credentials themselves; don't refresh or redirect for them.
+    if ((status === 401 || status === 403) && config && !config.url?.includes("/auth/") && !config._retried) {
+      config._retried = true;
+      const sentWith = config.headers?.Authorization;
+      const current = localStorage.getItem("token");
+      // Another request may already have refreshed while this one was in flight.
+      const token = current && sentWith !== `Bearer ${current}` ? current : await refreshAccessToken();
+      if (token) {
+        config.headers.Authorization = `Bearer ${token}`;
+        return api(config);
+      }
+      clearSession();
     }
     return Promise.reject(error);
   }
@@ -35,6 +75,8 @@ export const authApi = {
     api.post("/auth/login", data),
   register: (data: { name: string; email: string; password: string }) =>
     api.post("/auth/register", data),
+  logout: (refreshToken: string, token: string | null) =>
+    api.post("/auth/logout", { refreshToken }, token ? { headers: { Authorization: `Bearer ${token}` } } : undefined),
 };
 
 // Students
@@ -129,10 +171,10 @@ export const studentApi = {
     const query = new URLSearchParams();
     if (params?.search) query.set("search", params.search);
     if (params?.active !== undefined) query.set("active", String(params.active));
-    const token = localStorage.getItem("token");
-    const url = `http://localhost:8080/api/students/export/csv?${query.toString()}`;
-    return fetch(url, { headers: { Authorization: `Bearer ${token}` } })
-      .then((res) => res.blob())
+    // Through the axios client so an expired access token is refreshed like any other call
+    return api
+      .get<Blob>(`/students/export/csv?${query.toString()}`, { responseType: "blob" })
+      .then((res) => res.data)
       .then((blob) => {
         const a = document.createElement("a");
         a.href = URL.createObjectURL(blob);